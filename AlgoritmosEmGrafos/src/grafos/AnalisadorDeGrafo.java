@@ -0,0 +1,632 @@
+package grafos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Leitor do formato de texto dos grafos, byte a byte, sem criar Strings
+ * Formato: a primeira linha tem o número de vértices e cada linha seguinte tem a origem
+ * e as arestas que saem dela, como "0 1-40; 2-50;" (destino-peso, separadas por ';')
+ * Aceita as mesmas variações que a leitura por split aceitava: linhas em branco, ';' no final,
+ * espaços extras, fim de linha \r\n e entradas sem peso, com ou sem o traço ("3;" ou "3-;"), que são ignoradas
+ * Como na leitura por split, pesos negativos ("1--3", "1-(-3)") são rejeitados com erro
+ * Os números são convertidos direto dos bytes; só pesos com mais de 15 dígitos significativos
+ * ou expoente muito grande passam pelo Double.parseDouble
+ * Os bytes podem vir de um fluxo ou de uma região de memória (ex.: um trecho de arquivo mapeado)
+ * * Também lê os formatos de FormatoDeGrafo (lista de arestas, DIMACS .gr e Matrix Market .mtx), com
+ * a mesma leitura de números; os IDs a partir de 1 desses formatos são convertidos para a partir de 0
+ * * Com um MapaDeIds (usarMapaDeIds), os IDs dos vértices são lidos como long e renumerados na ordem
+ * em que aparecem, o que permite IDs esparsos ou maiores que um int
+ */
+class AnalisadorDeGrafo {
+
+    private static final int FIM = -1;
+    private static final double[] POTENCIAS_DE_DEZ = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private FormatoDeGrafo formato;
+    private InputStream entrada;
+    private ByteBuffer regiao;
+    private byte[] buffer;
+    private int pos;
+    private int limite;
+    private int linha;
+    // Texto do número sendo lido, usado quando ele não pode ser convertido direto
+    private char[] texto;
+    private int tamanhoTexto;
+    // Cabeçalho do Matrix Market: valores ausentes (pattern) e simetria
+    private boolean semValores;
+    private boolean simetrica;
+    private boolean antissimetrica;
+    // Renumeração dos IDs externos (nulo se os IDs do arquivo já são os internos)
+    private MapaDeIds mapa;
+
+    /**
+     * Construtor
+     * @param entrada O arquivo aberto (não é fechado pelo analisador)
+     */
+    AnalisadorDeGrafo(InputStream entrada) {
+        this(entrada, FormatoDeGrafo.TEXTO);
+    }
+
+    /**
+     * Construtor
+     * @param entrada O arquivo aberto (não é fechado pelo analisador)
+     * @param formato O formato do arquivo
+     */
+    AnalisadorDeGrafo(InputStream entrada, FormatoDeGrafo formato) {
+        this.formato = formato;
+        this.entrada = entrada;
+        this.buffer = new byte[1 << 16];
+        this.pos = 0;
+        this.limite = 0;
+        this.linha = 1;
+        this.texto = new char[64];
+    }
+
+    /**
+     * Construtor para ler um trecho já em memória, que deve começar no início de uma linha
+     * @param regiao Os bytes do trecho (a posição do buffer avança durante a leitura)
+     * @param primeiraLinha Número da primeira linha do trecho no arquivo, usado nas mensagens de erro
+     */
+    AnalisadorDeGrafo(ByteBuffer regiao, int primeiraLinha) {
+        this.formato = FormatoDeGrafo.TEXTO;
+        this.regiao = regiao;
+        this.buffer = new byte[1 << 16];
+        this.pos = 0;
+        this.limite = 0;
+        this.linha = primeiraLinha;
+        this.texto = new char[64];
+    }
+
+    /**
+     * Passa a renumerar os IDs dos vértices pelo mapa, criando IDs internos para os que ainda não existem
+     * Nas passadas seguintes sobre o mesmo arquivo, com o mesmo mapa, cada ID recebe o mesmo ID interno
+     */
+    void usarMapaDeIds(MapaDeIds mapa) {
+        this.mapa = mapa;
+    }
+
+    /**
+     * Lê o cabeçalho do arquivo (no formato do trabalho, a primeira linha)
+     * @return O número de vértices, ou -1 se o formato não o informa; na lista de arestas, o valor do
+     * comentário "# Nodes: N" do início do arquivo (como nos arquivos do SNAP), se houver
+     * @throws Exception Se o arquivo estiver vazio ou o cabeçalho for inválido
+     */
+    int lerNumeroDeVertices() throws Exception {
+        // Pula a marca de ordem de bytes do UTF-8, se houver
+        if (espiar() == 0xEF) {
+            pos++;
+            if (espiar() == 0xBB) {
+                pos++;
+            }
+            if (espiar() == 0xBF) {
+                pos++;
+            }
+        }
+        switch (formato) {
+            case LISTA_DE_ARESTAS:
+                return lerCabecalhoListaDeArestas();
+            case DIMACS:
+                return lerCabecalhoDimacs();
+            case MATRIX_MARKET:
+                return lerCabecalhoMatrixMarket();
+            default:
+                break;
+        }
+        pularEspacos();
+        if (espiar() == FIM) {
+            throw new Exception("Arquivo vazio ou não encontrado.");
+        }
+        int V = lerInteiro();
+        pularEspacos();
+        terminarLinha();
+        return V;
+    }
+
+    /**
+     * Lê todas as linhas de arestas até o fim do arquivo
+     * @param receptor Recebe cada aresta, na ordem do arquivo
+     */
+    void lerArestas(ReceptorDeArestas receptor) throws Exception {
+        switch (formato) {
+            case LISTA_DE_ARESTAS:
+                lerListaDeArestas(receptor);
+                return;
+            case DIMACS:
+                lerArestasDimacs(receptor);
+                return;
+            case MATRIX_MARKET:
+                lerArestasMatrixMarket(receptor);
+                return;
+            default:
+                break;
+        }
+        while (true) {
+            pularEspacos();
+            int c = espiar();
+            if (c == FIM) {
+                return;
+            }
+            if (c == '\n') {
+                pos++;
+                linha++;
+                continue; // Pula linhas em branco
+            }
+
+            int origem = lerVertice();
+            while (true) {
+                pularEspacos();
+                c = espiar();
+                if (c == FIM || c == '\n') {
+                    break;
+                }
+                if (c == ';') {
+                    pos++;
+                    continue; // Entrada vazia
+                }
+
+                int destino = lerVertice();
+                pularEspacos();
+                c = espiar();
+                if (c != '-') {
+                    // Entrada sem peso: ignorada
+                    if (c == ';') {
+                        pos++;
+                        continue;
+                    }
+                    if (c == FIM || c == '\n') {
+                        break;
+                    }
+                    throw erro("'-' esperado depois do destino");
+                }
+                pos++;
+                pularEspacos();
+                c = espiar();
+                if (c == ';') {
+                    pos++;
+                    continue; // Traço sem peso ("3-;"): ignorada
+                }
+                if (c == FIM || c == '\n') {
+                    break;
+                }
+                double peso = lerPeso();
+                receptor.receber(origem, destino, peso);
+
+                pularEspacos();
+                c = espiar();
+                if (c == ';') {
+                    pos++;
+                } else if (c != FIM && c != '\n') {
+                    throw erro("';' esperado depois do peso");
+                }
+            }
+            terminarLinha();
+        }
+    }
+
+    /**
+     * Lista de arestas: "origem destino [peso]" por linha (separados por espaços, tabulações ou vírgulas)
+     * Linhas começando com '#' ou '%' são comentários; sem peso, a aresta vale 1
+     */
+    private void lerListaDeArestas(ReceptorDeArestas receptor) throws Exception {
+        while (true) {
+            pularSeparadores();
+            int c = espiar();
+            if (c == FIM) {
+                return;
+            }
+            if (c == '\n' || c == '#' || c == '%') {
+                pularLinha();
+                continue;
+            }
+            int origem = lerVertice();
+            pularSeparadores();
+            int destino = lerVertice();
+            pularSeparadores();
+            c = espiar();
+            double peso = c == FIM || c == '\n' ? 1.0 : lerDouble();
+            receptor.receber(origem, destino, peso);
+            pularLinha(); // Colunas extras (ex.: data) são ignoradas
+        }
+    }
+
+    /**
+     * Lista de arestas: procura "Nodes: N" nos comentários antes da primeira aresta
+     * @return N, ou -1 se nenhum comentário o informa
+     */
+    private int lerCabecalhoListaDeArestas() throws Exception {
+        int V = -1;
+        while (true) {
+            pularSeparadores();
+            int c = espiar();
+            if (c == '\n') {
+                pularLinha();
+                continue;
+            }
+            if (c != '#' && c != '%') {
+                return V; // A primeira aresta (ou o fim) fica para lerArestas
+            }
+            pos++;
+            for (pularEspacos(), c = espiar(); c != FIM && c != '\n'; pularEspacos(), c = espiar()) {
+                if (lerPalavra().equals("nodes:")) {
+                    pularEspacos();
+                    c = espiar();
+                    if (c >= '0' && c <= '9') {
+                        V = lerInteiro();
+                    }
+                }
+            }
+            pularLinha();
+        }
+    }
+
+    /**
+     * DIMACS: linhas "c ..." (comentário) até a linha "p sp n m"
+     */
+    private int lerCabecalhoDimacs() throws Exception {
+        while (true) {
+            pularEspacos();
+            int c = espiar();
+            if (c == FIM) {
+                throw erro("linha 'p sp n m' esperada");
+            }
+            if (c == '\n' || c == 'c') {
+                pularLinha();
+                continue;
+            }
+            if (c != 'p') {
+                throw erro("linha 'p sp n m' esperada");
+            }
+            pos++;
+            pularEspacos();
+            lerPalavra(); // "sp"
+            pularEspacos();
+            int n = lerInteiro();
+            pularLinha(); // O número de arestas não é necessário
+            return n;
+        }
+    }
+
+    /**
+     * DIMACS: linhas "a origem destino peso", com IDs a partir de 1
+     */
+    private void lerArestasDimacs(ReceptorDeArestas receptor) throws Exception {
+        while (true) {
+            pularEspacos();
+            int c = espiar();
+            if (c == FIM) {
+                return;
+            }
+            if (c == '\n' || c == 'c') {
+                pularLinha();
+                continue;
+            }
+            if (c != 'a') {
+                throw erro("linha 'a origem destino peso' esperada");
+            }
+            pos++;
+            pularEspacos();
+            int origem = lerIdAPartirDeUm();
+            pularEspacos();
+            int destino = lerIdAPartirDeUm();
+            pularEspacos();
+            double peso = lerDouble();
+            receptor.receber(origem, destino, peso);
+            pularEspacos();
+            terminarLinha();
+        }
+    }
+
+    /**
+     * Matrix Market: "%%MatrixMarket matrix coordinate <real|integer|pattern> <general|symmetric|skew-symmetric>",
+     * comentários com '%' e a linha "linhas colunas não-nulos"
+     */
+    private int lerCabecalhoMatrixMarket() throws Exception {
+        pularEspacos();
+        if (!lerPalavra().equals("%%matrixmarket")) {
+            throw erro("cabeçalho %%MatrixMarket esperado");
+        }
+        pularEspacos();
+        String objeto = lerPalavra();
+        pularEspacos();
+        String organizacao = lerPalavra();
+        pularEspacos();
+        String campo = lerPalavra();
+        pularEspacos();
+        String simetria = lerPalavra();
+        if (!objeto.equals("matrix") || !organizacao.equals("coordinate")) {
+            throw new Exception("Só matrizes Matrix Market em coordenadas são aceitas (recebido: " + objeto + " " + organizacao + ").");
+        }
+        if (!campo.equals("real") && !campo.equals("integer") && !campo.equals("pattern")) {
+            throw new Exception("Tipo de valor Matrix Market não aceito: " + campo + ".");
+        }
+        if (!simetria.equals("general") && !simetria.equals("symmetric") && !simetria.equals("skew-symmetric")) {
+            throw new Exception("Simetria Matrix Market não aceita: " + simetria + ".");
+        }
+        semValores = campo.equals("pattern");
+        simetrica = !simetria.equals("general");
+        antissimetrica = simetria.equals("skew-symmetric");
+        pularLinha();
+
+        while (true) {
+            pularEspacos();
+            int c = espiar();
+            if (c == '\n' || c == '%') {
+                pularLinha();
+                continue;
+            }
+            int linhas = lerInteiro();
+            pularEspacos();
+            int colunas = lerInteiro();
+            pularLinha(); // O número de não nulos não é necessário
+            return Math.max(linhas, colunas);
+        }
+    }
+
+    /**
+     * Matrix Market: "linha coluna [valor]", com IDs a partir de 1
+     * Em matrizes simétricas cada entrada fora da diagonal vira duas arestas (a antissimétrica troca o sinal da segunda)
+     */
+    private void lerArestasMatrixMarket(ReceptorDeArestas receptor) throws Exception {
+        while (true) {
+            pularEspacos();
+            int c = espiar();
+            if (c == FIM) {
+                return;
+            }
+            if (c == '\n' || c == '%') {
+                pularLinha();
+                continue;
+            }
+            int origem = lerIdAPartirDeUm();
+            pularEspacos();
+            int destino = lerIdAPartirDeUm();
+            pularEspacos();
+            double peso = semValores ? 1.0 : lerDouble();
+            receptor.receber(origem, destino, peso);
+            if (simetrica && origem != destino) {
+                receptor.receber(destino, origem, antissimetrica ? -peso : peso);
+            }
+            pularEspacos();
+            terminarLinha();
+        }
+    }
+
+    /**
+     * Lê o ID de um vértice (renumerado pelo mapa, se houver)
+     */
+    private int lerVertice() throws Exception {
+        if (mapa != null) {
+            return mapa.obterOuCriar(lerNatural(Long.MAX_VALUE));
+        }
+        return lerInteiro();
+    }
+
+    private int lerIdAPartirDeUm() throws Exception {
+        if (mapa != null) {
+            return lerVertice(); // Renumerados de qualquer forma
+        }
+        int id = lerInteiro();
+        if (id == 0) {
+            throw erro("os IDs deste formato começam em 1");
+        }
+        return id - 1;
+    }
+
+    /**
+     * Lê uma sequência de caracteres até o próximo espaço, em minúsculas
+     */
+    private String lerPalavra() throws IOException {
+        tamanhoTexto = 0;
+        for (int c = espiar(); c != FIM && c != ' ' && c != '\t' && c != '\r' && c != '\n'; c = espiar()) {
+            guardar(Character.toLowerCase(c));
+            pos++;
+        }
+        return new String(texto, 0, tamanhoTexto);
+    }
+
+    /**
+     * Pula o resto da linha, incluindo o fim de linha
+     */
+    private void pularLinha() throws IOException {
+        for (int c = espiar(); c != FIM; c = espiar()) {
+            pos++;
+            if (c == '\n') {
+                linha++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pula espaços, tabulações, \r e vírgulas (separadores da lista de arestas)
+     */
+    private void pularSeparadores() throws IOException {
+        for (int c = espiar(); c == ' ' || c == '\t' || c == '\r' || c == ','; c = espiar()) {
+            pos++;
+        }
+    }
+
+    /**
+     * Próximo byte sem consumi-lo (ou FIM), recarregando o buffer se necessário
+     */
+    private int espiar() throws IOException {
+        if (pos == limite) {
+            if (regiao != null) {
+                limite = Math.min(regiao.remaining(), buffer.length);
+                regiao.get(buffer, 0, limite);
+            } else {
+                limite = entrada.read(buffer, 0, buffer.length);
+            }
+            pos = 0;
+            if (limite <= 0) {
+                limite = 0;
+                return FIM;
+            }
+        }
+        return buffer[pos] & 0xFF;
+    }
+
+    /**
+     * Pula espaços, tabulações e \r, mas não o fim de linha
+     */
+    private void pularEspacos() throws IOException {
+        for (int c = espiar(); c == ' ' || c == '\t' || c == '\r'; c = espiar()) {
+            pos++;
+        }
+    }
+
+    private void terminarLinha() throws Exception {
+        int c = espiar();
+        if (c == '\n') {
+            pos++;
+            linha++;
+        } else if (c != FIM) {
+            throw erro("fim de linha esperado");
+        }
+    }
+
+    private int lerInteiro() throws Exception {
+        return (int) lerNatural(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Lê um número sem sinal de no máximo 'maximo'
+     */
+    private long lerNatural(long maximo) throws Exception {
+        int c = espiar();
+        if (c < '0' || c > '9') {
+            throw erro("número esperado");
+        }
+        long valor = 0;
+        while (c >= '0' && c <= '9') {
+            if (valor > (maximo - (c - '0')) / 10) {
+                throw erro("número grande demais");
+            }
+            valor = valor * 10 + (c - '0');
+            pos++;
+            c = espiar();
+        }
+        return valor;
+    }
+
+    /**
+     * Lê o peso de uma entrada do formato do trabalho, que não pode ser negativo (o '-' separa destino e peso)
+     */
+    private double lerPeso() throws Exception {
+        if (espiar() == '-') {
+            throw erro("peso negativo não é aceito neste formato");
+        }
+        return lerDouble();
+    }
+
+    /**
+     * Lê um número real (sinal, parte inteira, parte decimal e expoente opcionais)
+     * Com até 15 dígitos significativos e expoente até 22, mantissa e potência de dez são exatas
+     * em double e uma única multiplicação ou divisão dá o valor corretamente arredondado
+     */
+    private double lerDouble() throws Exception {
+        tamanhoTexto = 0;
+        boolean negativo = false;
+        int c = espiar();
+        if (c == '-' || c == '+') {
+            negativo = c == '-';
+            guardar(c);
+            pos++;
+            c = espiar();
+        }
+
+        long mantissa = 0;
+        int digitos = 0;
+        int expoente = 0;
+        boolean temDigito = false;
+        while (c >= '0' && c <= '9') {
+            if (digitos < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digitos++;
+                }
+            } else {
+                expoente++;
+                digitos++;
+            }
+            temDigito = true;
+            guardar(c);
+            pos++;
+            c = espiar();
+        }
+        if (c == '.') {
+            guardar(c);
+            pos++;
+            c = espiar();
+            while (c >= '0' && c <= '9') {
+                if (digitos < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digitos++;
+                    }
+                    expoente--;
+                } else {
+                    digitos++;
+                }
+                temDigito = true;
+                guardar(c);
+                pos++;
+                c = espiar();
+            }
+        }
+        if (!temDigito) {
+            throw erro("peso esperado");
+        }
+        if (c == 'e' || c == 'E') {
+            guardar(c);
+            pos++;
+            c = espiar();
+            boolean expoenteNegativo = false;
+            if (c == '-' || c == '+') {
+                expoenteNegativo = c == '-';
+                guardar(c);
+                pos++;
+                c = espiar();
+            }
+            if (c < '0' || c > '9') {
+                throw erro("expoente inválido");
+            }
+            int valor = 0;
+            while (c >= '0' && c <= '9') {
+                if (valor < 100000) {
+                    valor = valor * 10 + (c - '0');
+                }
+                guardar(c);
+                pos++;
+                c = espiar();
+            }
+            expoente += expoenteNegativo ? -valor : valor;
+        }
+
+        if (digitos <= 15 && expoente >= -22 && expoente <= 22) {
+            double valor = mantissa;
+            valor = expoente >= 0 ? valor * POTENCIAS_DE_DEZ[expoente] : valor / POTENCIAS_DE_DEZ[-expoente];
+            return negativo ? -valor : valor;
+        }
+        return Double.parseDouble(new String(texto, 0, tamanhoTexto));
+    }
+
+    private void guardar(int c) {
+        if (tamanhoTexto == texto.length) {
+            texto = Arrays.copyOf(texto, texto.length * 2);
+        }
+        texto[tamanhoTexto++] = (char) c;
+    }
+
+    private Exception erro(String mensagem) throws IOException {
+        int c = espiar();
+        String encontrado = c == FIM ? "fim do arquivo" : c == '\n' ? "fim de linha" : "'" + (char) c + "'";
+        return new Exception("Formato inválido na linha " + linha + ": " + mensagem + ", encontrado " + encontrado + ".");
+    }
+}
@@ -0,0 +1,38 @@
+package grafos;
+
+import java.util.Arrays;
+
+/**
+ * Arestas lidas de um arquivo guardadas em vetores primitivos, na ordem em que chegaram
+ * Usado quando as arestas são lidas antes de o grafo poder recebê-las (ex.: leitura em paralelo)
+ */
+class ArestasLidas implements ReceptorDeArestas {
+
+    int[] origens;
+    int[] destinos;
+    double[] pesos;
+    int quantidade;
+    // Erro de leitura do bloco, se houve
+    Exception erro;
+
+    ArestasLidas() {
+        this.origens = new int[1024];
+        this.destinos = new int[1024];
+        this.pesos = new double[1024];
+        this.quantidade = 0;
+    }
+
+    @Override
+    public void receber(int origem, int destino, double peso) {
+        if (quantidade == origens.length) {
+            int novoTamanho = quantidade * 2;
+            origens = Arrays.copyOf(origens, novoTamanho);
+            destinos = Arrays.copyOf(destinos, novoTamanho);
+            pesos = Arrays.copyOf(pesos, novoTamanho);
+        }
+        origens[quantidade] = origem;
+        destinos[quantidade] = destino;
+        pesos[quantidade] = peso;
+        quantidade++;
+    }
+}
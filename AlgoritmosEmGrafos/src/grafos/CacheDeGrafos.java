@@ -0,0 +1,154 @@
+package grafos;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache dos grafos já carregados, para que recarregar o mesmo arquivo na mesma representação
+ * não leia o arquivo de novo
+ * A chave é o caminho absoluto do arquivo mais a representação; cada entrada guarda a data de
+ * modificação do arquivo, e uma entrada de um arquivo que mudou desde a carga é descartada
+ * O tamanho de cada grafo é estimado pela representação (ver estimarBytes), e os menos usados
+ * recentemente saem do cache quando a soma passa do orçamento
+ * Os grafos ficam em SoftReferences: se a memória acabar, o coletor de lixo pode descartá-los
+ * mesmo dentro do orçamento (o que vale como uma falta no cache)
+ * Os grafos devolvidos são os mesmos objetos guardados, então não devem ser modificados por quem os usa
+ */
+class CacheDeGrafos {
+
+    private static class Entrada {
+        SoftReference<Grafo> grafo;
+        long modificadoEm;
+        long bytes;
+    }
+
+    private long orcamento;
+    private long bytesUsados;
+    // Em ordem de acesso: o primeiro é o usado há mais tempo
+    private LinkedHashMap<String, Entrada> entradas;
+
+    /**
+     * Cria um cache com orçamento de metade da memória máxima da JVM
+     */
+    CacheDeGrafos() {
+        this(Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    /**
+     * Construtor
+     * @param orcamento Soma máxima dos tamanhos estimados dos grafos guardados, em bytes
+     */
+    CacheDeGrafos(long orcamento) {
+        this.orcamento = orcamento;
+        this.bytesUsados = 0;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Retorna o grafo guardado para o arquivo e a representação
+     * @return O grafo, ou null se ele não está no cache (ou o arquivo mudou desde a carga)
+     */
+    synchronized Grafo obter(String path, TipoDeRepresentacao t) {
+        File arquivo = new File(path);
+        String chave = chave(arquivo, t);
+        Entrada e = entradas.get(chave);
+        if (e == null) {
+            return null;
+        }
+        Grafo g = e.grafo.get();
+        if (g == null || e.modificadoEm != arquivo.lastModified()) {
+            remover(chave);
+            return null;
+        }
+        return g;
+    }
+
+    /**
+     * Guarda o grafo carregado do arquivo na representação, descartando os usados há mais tempo
+     * se o orçamento for ultrapassado (grafos maiores que o orçamento inteiro não são guardados)
+     */
+    synchronized void guardar(String path, TipoDeRepresentacao t, Grafo g) {
+        File arquivo = new File(path);
+        long modificadoEm = arquivo.lastModified();
+        if (modificadoEm == 0) {
+            return; // Arquivo inexistente ou inacessível
+        }
+        String chave = chave(arquivo, t);
+        remover(chave);
+
+        Entrada nova = new Entrada();
+        nova.grafo = new SoftReference<>(g);
+        nova.modificadoEm = modificadoEm;
+        nova.bytes = estimarBytes(g, t);
+        if (nova.bytes > orcamento) {
+            return;
+        }
+
+        // Primeiro os que o coletor de lixo já descartou, depois os usados há mais tempo
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            Entrada e = it.next();
+            if (e.grafo.get() == null) {
+                bytesUsados -= e.bytes;
+                it.remove();
+            }
+        }
+        it = entradas.values().iterator();
+        while (bytesUsados + nova.bytes > orcamento && it.hasNext()) {
+            bytesUsados -= it.next().bytes;
+            it.remove();
+        }
+        entradas.put(chave, nova);
+        bytesUsados += nova.bytes;
+    }
+
+    /**
+     * Esvazia o cache
+     */
+    synchronized void limpar() {
+        entradas.clear();
+        bytesUsados = 0;
+    }
+
+    private void remover(String chave) {
+        Entrada e = entradas.remove(chave);
+        if (e != null) {
+            bytesUsados -= e.bytes;
+        }
+    }
+
+    private static String chave(File arquivo, TipoDeRepresentacao t) {
+        return arquivo.getAbsolutePath() + "|" + t;
+    }
+
+    /**
+     * Estimativa da memória ocupada pelo grafo, pela representação, V e A
+     * Considera cerca de 32 bytes por Vertice; o GrafoMapeado fica fora do heap (só os Vertices contam)
+     */
+    static long estimarBytes(Grafo g, TipoDeRepresentacao t) {
+        long V = g.numeroDeVertices();
+        long A = g.numeroDeArestas();
+        if (g instanceof GrafoMapeado) {
+            return 32 * V;
+        }
+        switch (t) {
+            case MATRIZ_DE_ADJACENCIA:
+                return 8 * V * V + V * V / 8 + 36 * V; // Pesos, presença e grau de entrada
+            case MATRIZ_DE_BITS:
+                return V * V / 8 + 36 * V;
+            case MATRIZ_DE_INCIDENCIA:
+                return 24 * A + 56 * V; // Origem, destino e peso por aresta, incidências por vértice
+            case LISTA_DE_ADJACENCIA:
+                return 40 * A + 112 * V; // Um objeto Aresta por aresta, duas listas por vértice
+            case COMPRESSED_SPARSE_ROW:
+                return 20 * A + 48 * V; // Vetores de saída e de entrada
+            case LISTA_COMPRIMIDA:
+                return 12 * A + 48 * V;
+            default:
+                return 40 * A + 112 * V;
+        }
+    }
+}
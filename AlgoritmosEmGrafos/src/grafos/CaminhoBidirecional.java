@@ -0,0 +1,81 @@
+package grafos;
+
+import java.util.ArrayList;
+
+/**
+ * Dijkstra bidirecional para consultas de um ponto a outro
+ * Uma busca direta sai da origem pelos adjacentes e uma reversa sai do destino pelos antecessores;
+ * a cada passo avança a que tem a menor distância na fila. Cada relaxamento registra o melhor
+ * encontro μ = d_direta(v) + d_reversa(v), e a busca para quando a soma das menores distâncias das
+ * duas filas chega a μ (nenhum caminho ainda não visto pode ser menor)
+ * Em grafos grandes e esparsos as duas bolas de raio ~d/2 fecham bem menos vértices que uma de raio d
+ * As duas buscas são reaproveitadas entre consultas no mesmo grafo (ver CaminhosMinimos)
+ * Os pesos devem ser não negativos
+ */
+class CaminhoBidirecional {
+
+    private Grafo g;
+    private CaminhosMinimos direta;
+    private CaminhosMinimos reversa;
+
+    /**
+     * Construtor
+     * @param g O grafo das consultas (não deve mudar entre elas)
+     */
+    CaminhoBidirecional(Grafo g) {
+        this.g = g;
+        this.direta = new CaminhosMinimos(g, -1, false);
+        this.reversa = new CaminhosMinimos(g, -1, true);
+        direta.setOposta(reversa);
+        reversa.setOposta(direta);
+    }
+
+    int numeroDeVertices() {
+        return direta.numeroDeVertices();
+    }
+
+    /**
+     * Calcula o caminho mínimo da origem ao destino
+     * @return As arestas do caminho, ou uma lista vazia se o destino não é alcançável (ou é a origem)
+     */
+    ArrayList<Aresta> caminho(int origem, int destino) throws Exception {
+        ArrayList<Aresta> arestas = new ArrayList<>();
+        if (origem == destino) {
+            return arestas;
+        }
+        // As duas são limpas antes de começar, para que nenhum encontro use distâncias da consulta anterior
+        direta.limpar();
+        reversa.limpar();
+        direta.iniciar(origem);
+        reversa.iniciar(destino);
+        while (direta.temProximo() && reversa.temProximo()) {
+            double menorDireta = direta.distanciaDoProximo();
+            double menorReversa = reversa.distanciaDoProximo();
+            if (menorDireta + menorReversa >= melhorEncontro()) {
+                break;
+            }
+            if (menorDireta <= menorReversa) {
+                direta.fecharProximo();
+            } else {
+                reversa.fecharProximo();
+            }
+        }
+
+        int encontro = direta.melhorEncontro() <= reversa.melhorEncontro()
+                ? direta.verticeDoEncontro() : reversa.verticeDoEncontro();
+        if (encontro < 0) {
+            return arestas;
+        }
+        // Da origem até o encontro pela busca direta, e dele até o destino pela reversa
+        arestas = direta.caminho(encontro);
+        ArrayList<Vertice> vertices = g.vertices();
+        for (int v = encontro; reversa.pai(v) >= 0; v = reversa.pai(v)) {
+            arestas.add(direta.arestaUsada(vertices.get(v), vertices.get(reversa.pai(v)), reversa.pesoPai(v)));
+        }
+        return arestas;
+    }
+
+    private double melhorEncontro() {
+        return Math.min(direta.melhorEncontro(), reversa.melhorEncontro());
+    }
+}
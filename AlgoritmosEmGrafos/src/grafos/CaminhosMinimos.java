@@ -0,0 +1,476 @@
+package grafos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Caminhos mínimos a partir de uma origem (Dijkstra) com um HeapIndexado de IDs e chaves double,
+ * em O((V + A) log V), no lugar da busca linear pelo menor d[v] em uma lista de vértices
+ * As distâncias e os pais ficam em vetores indexados pelo ID do vértice, alocados uma vez por grafo;
+ * cada consulta desfaz apenas o que a anterior tocou, então várias consultas no mesmo grafo
+ * custam proporcionalmente à região explorada, e não a V
+ * Os pesos devem ser não negativos: cada consulta confere isso (uma varredura das arestas por versão
+ * do grafo, ver Grafo.numeroDeModificacoes) e recusa o grafo com IllegalArgumentException. Um vértice
+ * fechado nunca volta à fila
+ * * Se os pesos são inteiros de 0 a C (C pequeno), a fila é a de baldes de Dial: C + 1 listas circulares,
+ * uma por distância módulo C + 1, sem comparações entre chaves; cada vértice sai da fila em O(1)
+ * e a busca custa O(V + A + D), onde D é a distância do último vértice fechado
+ * Cada peso é conferido ao ser relaxado; se aparecer um peso fora de 0..C (ex.: o grafo mudou depois
+ * da carga), a consulta é refeita com o heap e os baldes não são mais usados
+ * * Uma busca reversa percorre os antecessores (distâncias até o destino, e não a partir da origem);
+ * a busca bidirecional (CaminhoBidirecional) avança uma busca direta e uma reversa passo a passo,
+ * com iniciar() e fecharProximo()
+ * * Com marcos (calcularComMarcos), a busca é o A* ALT: a chave de v na fila é distancia[v] mais um
+ * limite inferior da distância de v ao destino (MarcosALT), o que a direciona para o destino
+ */
+class CaminhosMinimos {
+
+    // Maior C aceito para os baldes (acima disso, o heap)
+    private static final int MAIOR_PESO_BALDES = 1 << 20;
+
+    private Grafo g;
+    private double[] distancia;
+    private int[] pai;
+    // Peso da aresta pai[v] -> v usada no caminho (para encontrar a Aresta entre arestas paralelas)
+    private double[] pesoPai;
+    private HeapIndexado heap;
+
+    // Fila de baldes (apenas com pesos inteiros): C, o primeiro vértice de cada balde e a lista
+    // duplamente ligada de cada balde (-1 marca o fim; baldeDe[v] é -1 se v não está em um balde)
+    private int maiorPeso;
+    private int[] primeiroDoBalde;
+    private int[] proximoNoBalde;
+    private int[] anteriorNoBalde;
+    private int[] baldeDe;
+    private int numNosBaldes;
+    private boolean pesoForaDosBaldes;
+    // Vértices já fechados na consulta atual (não são mais relaxados)
+    private boolean[] fechado;
+    // numeroDeModificacoes do grafo quando os pesos foram conferidos (-1: ainda não foram)
+    private long pesosConferidosEm;
+    // Vértices com distância finita na última consulta
+    private int[] tocados;
+    private int numTocados;
+
+    // Vértice sendo fechado, usado pelo visitante de relaxamento
+    private int atual;
+    private VisitanteDeArestas relaxa;
+
+    // Busca pelos antecessores, em vez dos adjacentes
+    private boolean reverso;
+    // Busca no sentido oposto (na busca bidirecional) e o melhor encontro com ela:
+    // o menor distancia[v] + oposta.distancia[v] visto nos relaxamentos desta busca
+    private CaminhosMinimos oposta;
+    private double melhorEncontro;
+    private int verticeDoEncontro;
+
+    // A* ALT: marcos da consulta atual (nulo no Dijkstra), destino e limite inferior de cada
+    // vértice tocado até ele (NaN se ainda não calculado)
+    private MarcosALT marcos;
+    private int alvo;
+    private double[] potencial;
+
+    /**
+     * Construtor
+     * @param g O grafo das consultas (não deve mudar entre elas)
+     */
+    CaminhosMinimos(Grafo g) {
+        this(g, -1);
+    }
+
+    /**
+     * Construtor
+     * @param g O grafo das consultas (não deve mudar entre elas)
+     * @param maiorPesoInteiro O maior peso, se todos os pesos são inteiros não negativos (senão -1)
+     */
+    CaminhosMinimos(Grafo g, int maiorPesoInteiro) {
+        this(g, maiorPesoInteiro, false);
+    }
+
+    /**
+     * Construtor
+     * @param g O grafo das consultas (não deve mudar entre elas)
+     * @param maiorPesoInteiro O maior peso, se todos os pesos são inteiros não negativos (senão -1)
+     * @param reverso true para percorrer os antecessores (distâncias até um destino)
+     */
+    CaminhosMinimos(Grafo g, int maiorPesoInteiro, boolean reverso) {
+        int V = g.numeroDeVertices();
+        this.g = g;
+        this.reverso = reverso;
+        this.distancia = new double[V];
+        this.pai = new int[V];
+        this.pesoPai = new double[V];
+        this.heap = new HeapIndexado(V);
+        this.fechado = new boolean[V];
+        this.pesosConferidosEm = -1;
+        this.tocados = new int[V];
+        this.numTocados = 0;
+        Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+        Arrays.fill(pai, -1);
+        this.maiorPeso = -1;
+        if (maiorPesoInteiro >= 0 && maiorPesoInteiro <= MAIOR_PESO_BALDES) {
+            this.maiorPeso = maiorPesoInteiro;
+            this.primeiroDoBalde = new int[maiorPesoInteiro + 1];
+            this.proximoNoBalde = new int[V];
+            this.anteriorNoBalde = new int[V];
+            this.baldeDe = new int[V];
+            Arrays.fill(primeiroDoBalde, -1);
+            Arrays.fill(baldeDe, -1);
+        }
+
+        // Arestas paralelas são relaxadas uma a uma, o que equivale a usar a de menor peso
+        this.relaxa = (v, peso) -> {
+            if (fechado[v]) {
+                return true;
+            }
+            if (maiorPeso >= 0 && !(peso >= 0 && peso <= maiorPeso && peso == Math.rint(peso))) {
+                pesoForaDosBaldes = true;
+                return false;
+            }
+            double nova = distancia[atual] + peso;
+            if (nova < distancia[v]) {
+                if (distancia[v] == Double.POSITIVE_INFINITY) {
+                    tocados[numTocados++] = v;
+                }
+                distancia[v] = nova;
+                pai[v] = atual;
+                pesoPai[v] = peso;
+                if (oposta != null && nova + oposta.distancia[v] < melhorEncontro) {
+                    melhorEncontro = nova + oposta.distancia[v];
+                    verticeDoEncontro = v;
+                }
+                if (maiorPeso >= 0) {
+                    colocarNoBalde(v, nova);
+                } else if (marcos != null) {
+                    if (Double.isNaN(potencial[v])) {
+                        potencial[v] = marcos.limiteInferior(v, alvo);
+                    }
+                    // Infinito: o destino não é alcançável a partir de v
+                    if (potencial[v] != Double.POSITIVE_INFINITY) {
+                        heap.inserirOuDiminuir(v, nova + potencial[v]);
+                    }
+                } else {
+                    heap.inserirOuDiminuir(v, nova);
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Calcula as distâncias a partir da origem, parando quando o destino é fechado
+     * @param origem ID da origem
+     * @param destino ID do destino, ou -1 para calcular a distância até todos os vértices
+     * @throws IllegalArgumentException Se algum peso do grafo for negativo
+     */
+    void calcular(int origem, int destino) {
+        if (maiorPeso >= 0) {
+            if (calcularPorBaldes(origem, destino)) {
+                return;
+            }
+            // Peso fora de 0..C: refaz com o heap
+            limpar();
+            maiorPeso = -1;
+            primeiroDoBalde = null;
+            proximoNoBalde = null;
+            anteriorNoBalde = null;
+            baldeDe = null;
+        }
+        iniciar(origem);
+        while (!heap.vazio()) {
+            atual = heap.removerMinimo();
+            fechado[atual] = true;
+            if (atual == destino) {
+                break;
+            }
+            percorrer(atual);
+        }
+    }
+
+    /**
+     * Calcula o caminho da origem ao destino pelo A* com a heurística dos marcos
+     * Usa sempre o heap: o motor deve ter sido criado sem maiorPesoInteiro
+     * @param marcos Tabelas dos marcos deste grafo
+     */
+    void calcularComMarcos(int origem, int destino, MarcosALT marcos) {
+        if (potencial == null) {
+            potencial = new double[numeroDeVertices()];
+            Arrays.fill(potencial, Double.NaN);
+        }
+        this.marcos = marcos;
+        this.alvo = destino;
+        try {
+            iniciar(origem);
+            while (!heap.vazio()) {
+                atual = heap.removerMinimo();
+                fechado[atual] = true;
+                if (atual == destino) {
+                    break;
+                }
+                percorrer(atual);
+            }
+        } finally {
+            this.marcos = null;
+        }
+    }
+
+    /**
+     * Começa uma busca passo a passo a partir da origem (na busca reversa, a origem é o destino do caminho)
+     * Usa sempre o heap: o motor deve ter sido criado sem maiorPesoInteiro
+     */
+    void iniciar(int origem) {
+        conferirPesos();
+        limpar();
+        distancia[origem] = 0;
+        tocados[numTocados++] = origem;
+        heap.inserirOuDiminuir(origem, 0);
+        melhorEncontro = Double.POSITIVE_INFINITY;
+        verticeDoEncontro = -1;
+        if (oposta != null && oposta.distancia[origem] < melhorEncontro) {
+            melhorEncontro = oposta.distancia[origem];
+            verticeDoEncontro = origem;
+        }
+    }
+
+    /**
+     * Indica se ainda há vértices a fechar na busca passo a passo
+     */
+    boolean temProximo() {
+        return !heap.vazio();
+    }
+
+    /**
+     * Distância do próximo vértice a ser fechado (a fila não pode estar vazia)
+     */
+    double distanciaDoProximo() {
+        return heap.chaveMinima();
+    }
+
+    /**
+     * Fecha o vértice de menor distância e relaxa as suas arestas
+     * @return O vértice fechado
+     */
+    int fecharProximo() {
+        atual = heap.removerMinimo();
+        fechado[atual] = true;
+        percorrer(atual);
+        return atual;
+    }
+
+    /**
+     * Liga esta busca à busca no sentido oposto, para registrar os encontros (melhorEncontro)
+     */
+    void setOposta(CaminhosMinimos oposta) {
+        this.oposta = oposta;
+    }
+
+    /**
+     * Menor distancia[v] + oposta.distancia[v] encontrado desde iniciar()
+     */
+    double melhorEncontro() {
+        return melhorEncontro;
+    }
+
+    /**
+     * O vértice v do melhorEncontro, ou -1
+     */
+    int verticeDoEncontro() {
+        return verticeDoEncontro;
+    }
+
+    /**
+     * Confere os pesos se o grafo mudou desde a última conferência (ou se nunca foram conferidos)
+     */
+    private void conferirPesos() {
+        long versao = g.numeroDeModificacoes();
+        if (versao != pesosConferidosEm) {
+            conferirPesos(g);
+            pesosConferidosEm = versao;
+        }
+    }
+
+    /**
+     * Verifica que nenhum peso do grafo é negativo (ou NaN), o que o Dijkstra não trata
+     * @throws IllegalArgumentException Com a primeira aresta de peso negativo
+     */
+    static void conferirPesos(Grafo g) {
+        int[] destino = {-1};
+        double[] peso = {0};
+        for (int u = 0; u < g.numeroDeVertices(); u++) {
+            g.percorrerAdjacentes(u, (v, p) -> {
+                if (p >= 0) {
+                    return true;
+                }
+                destino[0] = v;
+                peso[0] = p;
+                return false;
+            });
+            if (destino[0] >= 0) {
+                throw new IllegalArgumentException("O caminho mínimo não aceita pesos negativos: a aresta "
+                        + u + " -> " + destino[0] + " tem peso " + peso[0] + ".");
+            }
+        }
+    }
+
+    private void percorrer(int u) {
+        if (reverso) {
+            g.percorrerAntecessores(u, relaxa);
+        } else {
+            g.percorrerAdjacentes(u, relaxa);
+        }
+    }
+
+    /**
+     * Dijkstra com a fila de baldes de Dial
+     * Os vértices na fila têm distância entre a atual e a atual + C, então a distância módulo C + 1
+     * identifica o balde de cada um sem ambiguidade
+     * @return false se algum peso estiver fora de 0..C (a consulta fica incompleta)
+     */
+    private boolean calcularPorBaldes(int origem, int destino) {
+        conferirPesos();
+        limpar();
+        pesoForaDosBaldes = false;
+        distancia[origem] = 0;
+        tocados[numTocados++] = origem;
+        colocarNoBalde(origem, 0);
+        long distanciaAtual = 0;
+        while (numNosBaldes > 0) {
+            int balde = (int) (distanciaAtual % (maiorPeso + 1));
+            while (primeiroDoBalde[balde] < 0) {
+                distanciaAtual++;
+                balde = balde == maiorPeso ? 0 : balde + 1;
+            }
+            atual = primeiroDoBalde[balde];
+            tirarDoBalde(atual);
+            fechado[atual] = true;
+            if (atual == destino) {
+                break;
+            }
+            percorrer(atual);
+            if (pesoForaDosBaldes) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Coloca v no balde da distância (tirando-o do balde anterior, se estiver em um)
+     */
+    private void colocarNoBalde(int v, double distanciaDeV) {
+        if (baldeDe[v] >= 0) {
+            tirarDoBalde(v);
+        }
+        int balde = (int) ((long) distanciaDeV % (maiorPeso + 1));
+        int primeiro = primeiroDoBalde[balde];
+        proximoNoBalde[v] = primeiro;
+        anteriorNoBalde[v] = -1;
+        if (primeiro >= 0) {
+            anteriorNoBalde[primeiro] = v;
+        }
+        primeiroDoBalde[balde] = v;
+        baldeDe[v] = balde;
+        numNosBaldes++;
+    }
+
+    private void tirarDoBalde(int v) {
+        int proximo = proximoNoBalde[v];
+        int anterior = anteriorNoBalde[v];
+        if (anterior >= 0) {
+            proximoNoBalde[anterior] = proximo;
+        } else {
+            primeiroDoBalde[baldeDe[v]] = proximo;
+        }
+        if (proximo >= 0) {
+            anteriorNoBalde[proximo] = anterior;
+        }
+        baldeDe[v] = -1;
+        numNosBaldes--;
+    }
+
+    /**
+     * Indica se as consultas usam a fila de baldes (pesos inteiros) em vez do heap
+     */
+    boolean usaBaldes() {
+        return maiorPeso >= 0;
+    }
+
+    int numeroDeVertices() {
+        return distancia.length;
+    }
+
+    /**
+     * Distância da origem até v na última consulta (infinita se v não foi alcançado)
+     * Sem destino, todas são exatas; com destino, apenas as dos vértices fechados antes dele
+     */
+    double distancia(int v) {
+        return distancia[v];
+    }
+
+    /**
+     * Pai de v no caminho mínimo, ou -1 (na busca reversa, o vértice seguinte no caminho até o destino)
+     */
+    int pai(int v) {
+        return pai[v];
+    }
+
+    /**
+     * Peso da aresta entre pai(v) e v usada no caminho
+     */
+    double pesoPai(int v) {
+        return pesoPai[v];
+    }
+
+    /**
+     * Monta o caminho da última consulta até o destino
+     * @return As arestas da origem ao destino, ou uma lista vazia se o destino não foi alcançado
+     */
+    ArrayList<Aresta> caminho(int destino) throws Exception {
+        ArrayList<Aresta> arestas = new ArrayList<>();
+        if (distancia[destino] == Double.POSITIVE_INFINITY) {
+            return arestas;
+        }
+        ArrayList<Vertice> vertices = g.vertices();
+        for (int v = destino; pai[v] >= 0; v = pai[v]) {
+            arestas.add(arestaUsada(vertices.get(pai[v]), vertices.get(v), pesoPai[v]));
+        }
+        Collections.reverse(arestas);
+        return arestas;
+    }
+
+    /**
+     * A aresta u -> v de peso 'peso' (a primeira entre u e v se nenhuma tiver exatamente esse peso)
+     */
+    Aresta arestaUsada(Vertice u, Vertice v, double peso) throws Exception {
+        ArrayList<Aresta> paralelas = g.arestasEntre(u, v);
+        for (Aresta a : paralelas) {
+            if (a.peso() == peso) {
+                return a;
+            }
+        }
+        return paralelas.isEmpty() ? null : paralelas.get(0);
+    }
+
+    /**
+     * Desfaz a consulta anterior, só nos vértices que ela tocou
+     */
+    void limpar() {
+        heap.limpar();
+        for (int i = 0; i < numTocados; i++) {
+            int v = tocados[i];
+            distancia[v] = Double.POSITIVE_INFINITY;
+            pai[v] = -1;
+            fechado[v] = false;
+            if (potencial != null) {
+                potencial[v] = Double.NaN;
+            }
+            if (baldeDe != null && baldeDe[v] >= 0) {
+                primeiroDoBalde[baldeDe[v]] = -1;
+                baldeDe[v] = -1;
+            }
+        }
+        numTocados = 0;
+        numNosBaldes = 0;
+    }
+}
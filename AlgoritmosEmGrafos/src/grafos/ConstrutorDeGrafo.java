@@ -0,0 +1,188 @@
+package grafos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Monta um grafo da representação escolhida em duas passadas sobre as arestas
+ * 1. contador(): recebe as arestas só para contar os graus de saída e de entrada de cada vértice
+ * 2. preparar() aloca as estruturas no tamanho exato e receber() coloca cada aresta na sua posição
+ * Assim nenhum vetor ou lista é copiado para crescer durante a carga, e o grafo final não tem folga
+ * * CSR e Lista Comprimida são montados direto nos vetores CSR; na Lista Comprimida os pesos só são alocados
+ * quando chega um peso diferente de 1, e os vetores são entregues sem cópia às ListasComprimidas, que
+ * ordenam os destinos no lugar (o vetor de destinos é descartado depois). Lista de Adjacência e Matriz de Incidência
+ * recebem as arestas pelo adicionarAresta, mas já dimensionadas. As matrizes de adjacência e de bits
+ * têm tamanho fixo (V x V) e dispensam a contagem (precisaContar() retorna false)
+ * As arestas da segunda passada devem ser as mesmas da primeira, na mesma ordem
+ * * Na segunda passada também verifica se todos os pesos são inteiros não negativos (ver maiorPesoInteiro)
+ */
+class ConstrutorDeGrafo implements ReceptorDeArestas {
+
+    private ArrayList<Vertice> vertices;
+    private TipoDeRepresentacao tipo;
+    private int numVertices;
+
+    // Contagem da primeira passada
+    private int[] grauSaida;
+    private int[] grauEntrada;
+    private int[] lacos;
+    private int numArestas;
+
+    // Grafo que recebe as arestas pelo adicionarAresta (nulo para CSR e Lista Comprimida)
+    private Grafo grafo;
+    // Vetores CSR (apenas para CSR e Lista Comprimida; na Lista Comprimida, pesos é nulo enquanto todos forem 1)
+    private int[] inicio;
+    private int[] proxima;
+    private int[] destinos;
+    private double[] pesos;
+
+    // Maior peso, enquanto todos os pesos recebidos forem inteiros não negativos (senão -1)
+    private int maiorPesoInteiro;
+
+    /**
+     * Construtor
+     * @param vertices Uma lista de todos os vértices que vão compor o grafo
+     * @param tipo A representação a ser montada
+     */
+    ConstrutorDeGrafo(ArrayList<Vertice> vertices, TipoDeRepresentacao tipo) {
+        this.vertices = vertices;
+        this.tipo = tipo;
+        this.numVertices = vertices.size();
+        this.maiorPesoInteiro = 0;
+        if (precisaContar()) {
+            this.grauSaida = new int[numVertices];
+            this.grauEntrada = new int[numVertices];
+            this.lacos = new int[numVertices];
+        }
+    }
+
+    /**
+     * Indica se a representação precisa da primeira passada (contador)
+     */
+    boolean precisaContar() {
+        return tipo != TipoDeRepresentacao.MATRIZ_DE_ADJACENCIA && tipo != TipoDeRepresentacao.MATRIZ_DE_BITS;
+    }
+
+    /**
+     * Receptor da primeira passada, que apenas conta as arestas de cada vértice
+     */
+    ReceptorDeArestas contador() {
+        return (origem, destino, peso) -> {
+            validar(origem, destino);
+            grauSaida[origem]++;
+            grauEntrada[destino]++;
+            if (origem == destino) {
+                lacos[origem]++;
+            }
+            numArestas++;
+        };
+    }
+
+    /**
+     * Aloca as estruturas no tamanho final (depois da primeira passada, se ela for necessária)
+     */
+    void preparar() throws Exception {
+        switch (tipo) {
+            case MATRIZ_DE_ADJACENCIA:
+                grafo = new GrafoMatrizAdjacencia(vertices);
+                break;
+            case MATRIZ_DE_BITS:
+                grafo = new GrafoMatrizBits(vertices);
+                break;
+            case LISTA_DE_ADJACENCIA:
+                grafo = new GrafoListaAdjacencia(vertices, grauSaida, grauEntrada);
+                break;
+            case MATRIZ_DE_INCIDENCIA:
+                int[] numIncidencias = new int[numVertices];
+                for (int v = 0; v < numVertices; v++) {
+                    numIncidencias[v] = grauSaida[v] + grauEntrada[v] - lacos[v];
+                }
+                grafo = new GrafoMatrizIncidencia(vertices, numArestas, numIncidencias);
+                break;
+            case COMPRESSED_SPARSE_ROW:
+            case LISTA_COMPRIMIDA:
+                inicio = new int[numVertices + 1];
+                for (int u = 0; u < numVertices; u++) {
+                    inicio[u + 1] = inicio[u] + grauSaida[u];
+                }
+                proxima = Arrays.copyOf(inicio, numVertices);
+                destinos = new int[numArestas];
+                pesos = tipo == TipoDeRepresentacao.COMPRESSED_SPARSE_ROW ? new double[numArestas] : null;
+                break;
+            default:
+                throw new Exception("Tipo de representação desconhecido.");
+        }
+        // Os graus não são mais necessários
+        this.grauSaida = null;
+        this.grauEntrada = null;
+        this.lacos = null;
+    }
+
+    /**
+     * Recebe uma aresta da segunda passada
+     */
+    @Override
+    public void receber(int origem, int destino, double peso) throws Exception {
+        validar(origem, destino);
+        if (maiorPesoInteiro >= 0) {
+            if (peso >= 0 && peso <= Integer.MAX_VALUE && peso == Math.rint(peso)) {
+                maiorPesoInteiro = Math.max(maiorPesoInteiro, (int) peso);
+            } else {
+                maiorPesoInteiro = -1;
+            }
+        }
+        if (grafo != null) {
+            grafo.adicionarAresta(vertices.get(origem), vertices.get(destino), peso);
+            return;
+        }
+        if (proxima[origem] == inicio[origem + 1]) {
+            throw new Exception("O vértice " + origem + " recebeu mais arestas do que foram contadas.");
+        }
+        int pos = proxima[origem]++;
+        destinos[pos] = destino;
+        if (pesos == null && peso != 1.0) {
+            pesos = new double[numArestas];
+            Arrays.fill(pesos, 1.0);
+        }
+        if (pesos != null) {
+            pesos[pos] = peso;
+        }
+    }
+
+    /**
+     * Retorna o grafo montado
+     * @throws Exception Se algum vértice recebeu menos arestas do que as contadas na primeira passada
+     */
+    Grafo construir() throws Exception {
+        if (grafo != null) {
+            return grafo;
+        }
+        // Uma posição não preenchida viraria uma aresta fantasma para o vértice 0
+        for (int u = 0; u < numVertices; u++) {
+            if (proxima[u] != inicio[u + 1]) {
+                throw new Exception("O vértice " + u + " recebeu menos arestas do que foram contadas (o arquivo mudou durante a carga?).");
+            }
+        }
+        this.proxima = null;
+        if (tipo == TipoDeRepresentacao.LISTA_COMPRIMIDA) {
+            ListasComprimidas listas = new ListasComprimidas(numVertices, inicio, destinos, pesos);
+            this.destinos = null;
+            return new GrafoComprimido(vertices, listas);
+        }
+        return new GrafoCSR(vertices, inicio, destinos, pesos);
+    }
+
+    /**
+     * Retorna o maior peso das arestas recebidas na segunda passada, se todos forem inteiros não negativos
+     * @return O maior peso (0 se não houver arestas), ou -1 se algum peso for fracionário ou negativo
+     */
+    int maiorPesoInteiro() {
+        return maiorPesoInteiro;
+    }
+
+    private void validar(int origem, int destino) throws Exception {
+        if (origem >= numVertices || destino >= numVertices) {
+            throw new Exception("Vértice inexistente: " + Math.max(origem, destino) + " (o grafo tem " + numVertices + " vértices).");
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package grafos;
+
+import java.util.Arrays;
+
+/**
+ * Pré-processamento das Hierarquias de Contração (ver HierarquiaDeContracao)
+ * Os vértices são contraídos um a um, do menos para o mais importante: ao contrair v, cada par
+ * u -> v -> w de vizinhos ainda não contraídos ganha um atalho u -> w (de peso d(u,v) + d(v,w)),
+ * a não ser que uma busca local (testemunha) encontre um caminho entre u e w sem v de peso menor
+ * ou igual. Os arcos de v para vizinhos ainda não contraídos (mais importantes) formam o grafo de
+ * subida de v; os que chegam a v vindos deles formam o de descida
+ * * A ordem vem de um heap de prioridades: o dobro de (atalhos que a contração criaria menos os arcos
+ * que ela remove), mais os vizinhos já contraídos (que espalha as contrações pelo grafo). As prioridades
+ * são atualizadas de forma preguiçosa: o vértice que sai do heap é reavaliado e volta se não for
+ * mais o menor, e os vizinhos de cada vértice contraído são reavaliados
+ * A busca por testemunhas fecha no máximo LIMITE_TESTEMUNHA vértices (LIMITE_SIMULACAO ao calcular
+ * prioridades); se parar antes, o atalho é criado mesmo que não fosse necessário, o que não muda
+ * as distâncias
+ * * Cada arco guarda os dois arcos que ele substitui (-1 nos arcos originais), para desempacotar os caminhos
+ * Arestas paralelas viram um único arco, com o menor peso; laços são ignorados
+ */
+class ContracaoDeVertices {
+
+    private static final int LIMITE_TESTEMUNHA = 500;
+    // Limite menor quando a contração é só simulada para calcular a prioridade
+    private static final int LIMITE_SIMULACAO = 50;
+
+    private int numVertices;
+
+    // Arcos (originais e atalhos)
+    int numArcos;
+    int[] arcoOrigem;
+    int[] arcoDestino;
+    double[] arcoPeso;
+    int[] arcoPrimeiro;
+    int[] arcoSegundo;
+
+    // Arcos de cada vértice para/de vizinhos ainda não contraídos; depois da contração de v,
+    // saida[v] e entrada[v] ficam congelados e são os grafos de subida e de descida de v
+    int[][] saida;
+    int[] numSaida;
+    int[][] entrada;
+    int[] numEntrada;
+
+    private boolean[] contraido;
+    private int[] vizinhosContraidos;
+
+    // Busca por testemunhas
+    private double[] distanciaTestemunha;
+    private int[] tocados;
+    private int numTocados;
+    private HeapIndexado heapTestemunha;
+
+    /**
+     * Copia os arcos do grafo e contrai todos os vértices
+     * @param g O grafo (pesos não negativos)
+     */
+    ContracaoDeVertices(Grafo g) {
+        int V = g.numeroDeVertices();
+        this.numVertices = V;
+        this.arcoOrigem = new int[16];
+        this.arcoDestino = new int[16];
+        this.arcoPeso = new double[16];
+        this.arcoPrimeiro = new int[16];
+        this.arcoSegundo = new int[16];
+        this.saida = new int[V][];
+        this.numSaida = new int[V];
+        this.entrada = new int[V][];
+        this.numEntrada = new int[V];
+        for (int v = 0; v < V; v++) {
+            saida[v] = new int[2];
+            entrada[v] = new int[2];
+        }
+        this.contraido = new boolean[V];
+        this.vizinhosContraidos = new int[V];
+        this.distanciaTestemunha = new double[V];
+        this.tocados = new int[V];
+        this.heapTestemunha = new HeapIndexado(V);
+        Arrays.fill(distanciaTestemunha, Double.POSITIVE_INFINITY);
+
+        copiarArcos(g);
+        contrairTodos();
+    }
+
+    /**
+     * Um arco por par (origem, destino) do grafo, com o menor peso entre as arestas paralelas
+     */
+    private void copiarArcos(Grafo g) {
+        // arcoPara[v] é o arco de 'u' para 'v' se marca[v] == u
+        int[] arcoPara = new int[numVertices];
+        int[] marca = new int[numVertices];
+        Arrays.fill(marca, -1);
+        for (int u = 0; u < numVertices; u++) {
+            final int origem = u;
+            g.percorrerAdjacentes(u, (v, peso) -> {
+                if (v == origem) {
+                    return true;
+                }
+                if (marca[v] != origem) {
+                    marca[v] = origem;
+                    arcoPara[v] = novoArco(origem, v, peso, -1, -1);
+                } else if (peso < arcoPeso[arcoPara[v]]) {
+                    arcoPeso[arcoPara[v]] = peso;
+                }
+                return true;
+            });
+        }
+    }
+
+    private void contrairTodos() {
+        HeapIndexado ordem = new HeapIndexado(numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            ordem.atualizar(v, prioridade(v));
+        }
+        while (!ordem.vazio()) {
+            int v = ordem.removerMinimo();
+            // Reavaliação preguiçosa: se a prioridade subiu, v volta ao heap
+            double p = prioridade(v);
+            if (!ordem.vazio() && p > ordem.chaveMinima()) {
+                ordem.atualizar(v, p);
+                continue;
+            }
+            contrair(v, false);
+            contraido[v] = true;
+
+            // Tira os arcos de v das listas dos vizinhos e reavalia os vizinhos
+            for (int i = 0; i < numEntrada[v]; i++) {
+                int u = arcoOrigem[entrada[v][i]];
+                removerSaida(u, entrada[v][i]);
+                vizinhosContraidos[u]++;
+                ordem.atualizar(u, prioridade(u));
+            }
+            for (int i = 0; i < numSaida[v]; i++) {
+                int w = arcoDestino[saida[v][i]];
+                removerEntrada(w, saida[v][i]);
+                vizinhosContraidos[w]++;
+                ordem.atualizar(w, prioridade(w));
+            }
+        }
+    }
+
+    private double prioridade(int v) {
+        return 2 * (contrair(v, true) - (numEntrada[v] + numSaida[v])) + vizinhosContraidos[v];
+    }
+
+    /**
+     * Contrai v (ou apenas conta os atalhos que a contração criaria)
+     * @param simular Se true, nenhum atalho é criado
+     * @return O número de atalhos necessários
+     */
+    private int contrair(int v, boolean simular) {
+        int atalhos = 0;
+        double maiorSaida = 0;
+        for (int j = 0; j < numSaida[v]; j++) {
+            maiorSaida = Math.max(maiorSaida, arcoPeso[saida[v][j]]);
+        }
+        for (int i = 0; i < numEntrada[v]; i++) {
+            int arcoUV = entrada[v][i];
+            int u = arcoOrigem[arcoUV];
+            double pesoUV = arcoPeso[arcoUV];
+            buscarTestemunhas(u, v, pesoUV + maiorSaida, simular ? LIMITE_SIMULACAO : LIMITE_TESTEMUNHA);
+            for (int j = 0; j < numSaida[v]; j++) {
+                int arcoVW = saida[v][j];
+                int w = arcoDestino[arcoVW];
+                double porV = pesoUV + arcoPeso[arcoVW];
+                if (w == u || distanciaTestemunha[w] <= porV) {
+                    continue;
+                }
+                atalhos++;
+                if (!simular) {
+                    adicionarAtalho(u, w, porV, arcoUV, arcoVW);
+                }
+            }
+        }
+        return atalhos;
+    }
+
+    /**
+     * Dijkstra a partir de u pelos vértices não contraídos, sem passar por v, até a distância 'limite'
+     * ou até fechar 'maxFechados' vértices (as distâncias não fechadas ficam como limites superiores)
+     */
+    private void buscarTestemunhas(int u, int v, double limite, int maxFechados) {
+        for (int i = 0; i < numTocados; i++) {
+            distanciaTestemunha[tocados[i]] = Double.POSITIVE_INFINITY;
+        }
+        numTocados = 0;
+        heapTestemunha.limpar();
+        distanciaTestemunha[u] = 0;
+        tocados[numTocados++] = u;
+        heapTestemunha.inserirOuDiminuir(u, 0);
+        int fechados = 0;
+        while (!heapTestemunha.vazio() && heapTestemunha.chaveMinima() <= limite && fechados < maxFechados) {
+            int x = heapTestemunha.removerMinimo();
+            fechados++;
+            for (int j = 0; j < numSaida[x]; j++) {
+                int arco = saida[x][j];
+                int y = arcoDestino[arco];
+                if (y == v) {
+                    continue;
+                }
+                double nova = distanciaTestemunha[x] + arcoPeso[arco];
+                if (nova < distanciaTestemunha[y]) {
+                    if (distanciaTestemunha[y] == Double.POSITIVE_INFINITY) {
+                        tocados[numTocados++] = y;
+                    }
+                    distanciaTestemunha[y] = nova;
+                    heapTestemunha.inserirOuDiminuir(y, nova);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cria o atalho u -> w; se já existe um arco u -> w mais pesado, ele sai das listas
+     * (mas continua existindo como parte de outros atalhos)
+     */
+    private void adicionarAtalho(int u, int w, double peso, int primeiro, int segundo) {
+        for (int j = 0; j < numSaida[u]; j++) {
+            int arco = saida[u][j];
+            if (arcoDestino[arco] == w) {
+                if (arcoPeso[arco] <= peso) {
+                    return;
+                }
+                removerSaida(u, arco);
+                removerEntrada(w, arco);
+                break;
+            }
+        }
+        novoArco(u, w, peso, primeiro, segundo);
+    }
+
+    private int novoArco(int origem, int destino, double peso, int primeiro, int segundo) {
+        if (numArcos == arcoOrigem.length) {
+            int capacidade = numArcos * 2;
+            arcoOrigem = Arrays.copyOf(arcoOrigem, capacidade);
+            arcoDestino = Arrays.copyOf(arcoDestino, capacidade);
+            arcoPeso = Arrays.copyOf(arcoPeso, capacidade);
+            arcoPrimeiro = Arrays.copyOf(arcoPrimeiro, capacidade);
+            arcoSegundo = Arrays.copyOf(arcoSegundo, capacidade);
+        }
+        int arco = numArcos++;
+        arcoOrigem[arco] = origem;
+        arcoDestino[arco] = destino;
+        arcoPeso[arco] = peso;
+        arcoPrimeiro[arco] = primeiro;
+        arcoSegundo[arco] = segundo;
+
+        if (numSaida[origem] == saida[origem].length) {
+            saida[origem] = Arrays.copyOf(saida[origem], numSaida[origem] * 2);
+        }
+        saida[origem][numSaida[origem]++] = arco;
+        if (numEntrada[destino] == entrada[destino].length) {
+            entrada[destino] = Arrays.copyOf(entrada[destino], numEntrada[destino] * 2);
+        }
+        entrada[destino][numEntrada[destino]++] = arco;
+        return arco;
+    }
+
+    private void removerSaida(int u, int arco) {
+        for (int j = 0; j < numSaida[u]; j++) {
+            if (saida[u][j] == arco) {
+                saida[u][j] = saida[u][--numSaida[u]];
+                return;
+            }
+        }
+    }
+
+    private void removerEntrada(int w, int arco) {
+        for (int j = 0; j < numEntrada[w]; j++) {
+            if (entrada[w][j] == arco) {
+                entrada[w][j] = entrada[w][--numEntrada[w]];
+                return;
+            }
+        }
+    }
+}
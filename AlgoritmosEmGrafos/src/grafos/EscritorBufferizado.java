@@ -0,0 +1,203 @@
+package grafos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escrita de texto em arquivo por um único buffer NIO reaproveitado, descarregado no canal quando enche
+ * Os números são convertidos direto para bytes, sem criar Strings, então a memória usada é a do buffer,
+ * qualquer que seja o tamanho do que é escrito
+ * Reais inteiros (em módulo menores que 10^7) saem no mesmo formato do Double.toString ("40.0"), e os
+ * fracionários com 2^-7 <= |x| < 10^7 pelos menos dígitos que, lidos de volta, dão o mesmo double
+ * (ver escreverFracionario); só os de fora dessa faixa (e NaN e infinitos) usam o próprio Double.toString
+ */
+class EscritorBufferizado implements Closeable {
+
+    private static final int TAMANHO_BUFFER = 1 << 20;
+    // Menor expoente binário escrito por escreverFracionario (com ele, as contas cabem em um long)
+    private static final int EXPOENTE_MINIMO = -7;
+
+    private FileChannel canal;
+    private ByteBuffer buffer;
+    // Dígitos de um número, do menos para o mais significativo
+    private byte[] digitos;
+    // Casas decimais de um real, da primeira para a última
+    private byte[] casas;
+
+    /**
+     * Cria (ou sobrescreve) o arquivo
+     * @param path Caminho do arquivo
+     */
+    EscritorBufferizado(String path) throws IOException {
+        this.canal = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+        this.digitos = new byte[20];
+        this.casas = new byte[64];
+    }
+
+    EscritorBufferizado escrever(char c) throws IOException {
+        if (c >= 0x80) {
+            return escrever(String.valueOf(c));
+        }
+        garantir(1);
+        buffer.put((byte) c);
+        return this;
+    }
+
+    /**
+     * Escreve um texto em UTF-8 (textos só com ASCII não são convertidos por String.getBytes)
+     */
+    EscritorBufferizado escrever(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+                for (int j = 0; j < bytes.length; j += TAMANHO_BUFFER) {
+                    int tamanho = Math.min(TAMANHO_BUFFER, bytes.length - j);
+                    garantir(tamanho);
+                    buffer.put(bytes, j, tamanho);
+                }
+                return this;
+            }
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            garantir(1);
+            buffer.put((byte) texto.charAt(i));
+        }
+        return this;
+    }
+
+    EscritorBufferizado escrever(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            return escrever(Long.toString(valor));
+        }
+        garantir(20);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            valor = -valor;
+        }
+        int n = 0;
+        do {
+            digitos[n++] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        while (n > 0) {
+            buffer.put(digitos[--n]);
+        }
+        return this;
+    }
+
+    EscritorBufferizado escrever(double valor) throws IOException {
+        if (valor == (long) valor && Math.abs(valor) < 1e7 && !(valor == 0 && 1 / valor < 0)) {
+            escrever((long) valor);
+            garantir(2);
+            buffer.put((byte) '.').put((byte) '0');
+            return this;
+        }
+        if (Math.abs(valor) < 1e7 && Math.getExponent(valor) >= EXPOENTE_MINIMO) {
+            escreverFracionario(valor);
+            return this;
+        }
+        return escrever(Double.toString(valor));
+    }
+
+    /**
+     * Escreve um real não inteiro com 2^-7 <= |valor| < 10^7 pelo menor número de casas decimais que, lido de
+     * volta, resulta no mesmo double (o texto do Double.toString, salvo os raros casos em que ele usa uma casa a mais)
+     * As casas saem de contas exatas em long: a parte fracionária é resto / 2^escala, em unidades de meio ulp, e cada
+     * casa multiplica o resto por 5 e tira um da escala (x10 / 2). A geração para assim que o resto fica dentro
+     * de meio ulp, por baixo (trunca) ou por cima (soma um à última casa)
+     */
+    private void escreverFracionario(double valor) throws IOException {
+        if (valor < 0) {
+            escrever('-');
+            valor = -valor;
+        }
+        long mantissa = (Double.doubleToRawLongBits(valor) & ((1L << 52) - 1)) | (1L << 52);
+        int s = 52 - Math.getExponent(valor); // valor = mantissa / 2^s, com 29 <= s <= 59
+        long inteiro = mantissa >>> s;
+        long resto = (mantissa & ((1L << s) - 1)) << 1;
+        int escala = s + 1;
+        long margemAlta = 1;
+        // Numa potência de 2, o double de baixo está a só meio ulp: por baixo, só para quando o resto zera
+        long margemBaixa = mantissa == 1L << 52 ? 0 : 1;
+
+        int n = 0;
+        while (true) {
+            resto *= 5;
+            margemAlta *= 5;
+            margemBaixa *= 5;
+            escala--;
+            int casa = (int) (resto >>> escala);
+            resto &= (1L << escala) - 1;
+            boolean baixo = resto == 0 || resto < margemBaixa;
+            boolean alto = resto > (1L << escala) - margemAlta;
+            if (baixo && (!alto || 2 * resto <= 1L << escala)) {
+                casas[n++] = (byte) casa;
+                break;
+            }
+            if (alto) {
+                casas[n++] = (byte) (casa + 1);
+                break;
+            }
+            casas[n++] = (byte) casa;
+        }
+        // O "vai um" da última casa pode chegar até a parte inteira
+        for (int i = n - 1; i >= 0 && casas[i] == 10; i--) {
+            casas[i] = 0;
+            if (i > 0) {
+                casas[i - 1]++;
+            } else {
+                inteiro++;
+            }
+        }
+        while (n > 1 && casas[n - 1] == 0) {
+            n--;
+        }
+
+        escrever(inteiro);
+        garantir(n + 1);
+        buffer.put((byte) '.');
+        for (int i = 0; i < n; i++) {
+            buffer.put((byte) ('0' + casas[i]));
+        }
+    }
+
+    EscritorBufferizado novaLinha() throws IOException {
+        return escrever('\n');
+    }
+
+    /**
+     * Garante espaço para 'n' bytes no buffer, descarregando-o se necessário
+     */
+    private void garantir(int n) throws IOException {
+        if (buffer.remaining() < n) {
+            descarregar();
+        }
+    }
+
+    private void descarregar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Descarrega o que falta e fecha o arquivo
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            descarregar();
+        } finally {
+            canal.close();
+        }
+    }
+}
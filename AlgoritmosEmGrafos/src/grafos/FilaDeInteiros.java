@@ -0,0 +1,43 @@
+package grafos;
+
+/**
+ * Fila FIFO de IDs de vértices sobre um vetor primitivo de tamanho fixo
+ * Usada pelas buscas em largura no lugar de ArrayList<Vertice> (onde remove(0) custa O(V))
+ * Cada vértice entra na fila no máximo uma vez por busca, então V posições bastam
+ */
+class FilaDeInteiros {
+
+    private int[] elementos;
+    private int inicio;
+    private int fim;
+
+    /**
+     * Construtor
+     * @param capacidade Número máximo de inserções (normalmente V)
+     */
+    FilaDeInteiros(int capacidade) {
+        this.elementos = new int[capacidade];
+        this.inicio = 0;
+        this.fim = 0;
+    }
+
+    void adicionar(int valor) {
+        elementos[fim++] = valor;
+    }
+
+    int remover() {
+        return elementos[inicio++];
+    }
+
+    boolean vazia() {
+        return inicio == fim;
+    }
+
+    /**
+     * Esvazia a fila para ser reaproveitada em uma nova busca
+     */
+    void limpar() {
+        inicio = 0;
+        fim = 0;
+    }
+}
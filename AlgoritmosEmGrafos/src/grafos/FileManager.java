@@ -7,11 +7,17 @@ package grafos;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,6 +53,231 @@ public class FileManager {
         }
     }   
     
+    /**
+     * Abre o arquivo para leitura em blocos de bytes, sem carregá-lo inteiro em memória
+     * Arquivos gzip são descompactados durante a leitura, em outra thread (ver FluxoDescompactado)
+     * Quem chama é responsável por fechar o fluxo
+     * @return O fluxo, ou null se o arquivo não existe
+     */
+    public InputStream inputStream (String path){ 
+        try {
+            if (isGzip(path)) {
+                return new FluxoDescompactado(new FileInputStream(path));
+            }
+            return new FileInputStream(path);
+        } catch (FileNotFoundException ex) {
+            Logger.getLogger(FileManager.class.getName()).log(Level.SEVERE, null, ex);
+            return null;
+        }
+    }
+    
+    /**
+     * Descompacta um arquivo gzip inteiro para um arquivo temporário, que pode ser lido várias vezes
+     * Quem chama é responsável por apagar o arquivo temporário
+     * @return O caminho do arquivo temporário
+     * @throws IOException Se o arquivo não puder ser lido ou descompactado (o temporário é apagado)
+     */
+    public Path descompactar (String path) throws IOException {
+        Path temporario = Files.createTempFile("grafo", ".txt");
+        try (InputStream entrada = new FluxoDescompactado(new FileInputStream(path))) {
+            Files.copy(entrada, temporario, StandardCopyOption.REPLACE_EXISTING);
+            return temporario;
+        } catch (IOException | RuntimeException | Error ex) {
+            Files.deleteIfExists(temporario);
+            throw ex;
+        }
+    }
+
+    /**
+     * Grava o grafo no formato binário do GrafoMapeado (cabeçalho, CSR de saída e de entrada)
+     * @return true se o arquivo foi gravado
+     */
+    public boolean binaryGraphWriter (Grafo g, String path){ 
+        try {
+            GrafoMapeado.gravar(g, path);
+            return true;
+        } catch (IOException ex) {
+            Logger.getLogger(FileManager.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        }
+    }
+    
+    /**
+     * Verifica se o arquivo está compactado com gzip (pelos dois primeiros bytes, 1F 8B)
+     */
+    public boolean isGzip (String path){ 
+        try (InputStream entrada = new FileInputStream(path)) {
+            return entrada.read() == 0x1F && entrada.read() == 0x8B;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Verifica se o arquivo começa com o número mágico do formato binário
+     */
+    public boolean isBinaryGraph (String path){ 
+        try (InputStream entrada = new FileInputStream(path)) {
+            byte[] magico = new byte[4];
+            if (entrada.read(magico) != 4) {
+                return false;
+            }
+            int valor = (magico[0] & 0xFF) | (magico[1] & 0xFF) << 8 | (magico[2] & 0xFF) << 16 | (magico[3] & 0xFF) << 24;
+            return valor == GrafoMapeado.MAGICO;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+    
+    /**
+     * Exporta o grafo como lista de arestas, uma "origem destino peso" por linha (formato que carregarGrafo lê)
+     * A primeira linha é o comentário "# Nodes: V Edges: A" (como nos arquivos do SNAP), que o carregarGrafo
+     * usa como número de vértices, para que os vértices isolados de IDs altos não se percam
+     * A escrita é feita aresta a aresta por um buffer fixo, sem montar o texto em memória
+     * @return true se o arquivo foi gravado
+     */
+    public boolean edgeListWriter (Grafo g, String path){ 
+        try (EscritorBufferizado escritor = new EscritorBufferizado(path)) {
+            escritor.escrever("# Nodes: ").escrever(g.numeroDeVertices())
+                    .escrever(" Edges: ").escrever(g.numeroDeArestas()).novaLinha();
+            for (int u = 0; u < g.numeroDeVertices(); u++) {
+                final int origem = u;
+                percorrerComEscrita(g, u, (v, peso) -> {
+                    escritor.escrever(origem).escrever(' ').escrever(v).escrever(' ').escrever(peso).novaLinha();
+                });
+            }
+            return true;
+        } catch (IOException ex) {
+            Logger.getLogger(FileManager.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        }
+    }
+    
+    /**
+     * Exporta o grafo no formato DOT do Graphviz (digraph, com o peso como rótulo de cada aresta)
+     * @return true se o arquivo foi gravado
+     */
+    public boolean dotWriter (Grafo g, String path){ 
+        try (EscritorBufferizado escritor = new EscritorBufferizado(path)) {
+            escritor.escrever("digraph G {").novaLinha();
+            for (int u = 0; u < g.numeroDeVertices(); u++) {
+                escritor.escrever("  ").escrever(u).escrever(';').novaLinha();
+            }
+            for (int u = 0; u < g.numeroDeVertices(); u++) {
+                final int origem = u;
+                percorrerComEscrita(g, u, (v, peso) -> {
+                    escritor.escrever("  ").escrever(origem).escrever(" -> ").escrever(v)
+                            .escrever(" [label=\"").escrever(peso).escrever("\"];").novaLinha();
+                });
+            }
+            escritor.escrever('}').novaLinha();
+            return true;
+        } catch (IOException ex) {
+            Logger.getLogger(FileManager.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        }
+    }
+    
+    /**
+     * Exporta uma tabela de resultados por vértice em CSV (ex.: tempos d/f da DFS, distâncias e pais da BFS)
+     * A primeira coluna é o ID do vértice (a linha 'i' da tabela); as demais vêm dos vetores, que podem ser
+     * int[], long[], double[] ou Vertice[] (um vértice nulo vira célula vazia)
+     * @param cabecalho Nomes das colunas, incluindo a do vértice
+     * @param colunas Os vetores, todos com uma posição por vértice
+     * @return true se o arquivo foi gravado
+     */
+    public boolean csvTableWriter (String path, String[] cabecalho, Object... colunas){ 
+        try (EscritorBufferizado escritor = new EscritorBufferizado(path)) {
+            for (int c = 0; c < cabecalho.length; c++) {
+                escritor.escrever(c == 0 ? "" : ",").escrever(cabecalho[c]);
+            }
+            escritor.novaLinha();
+            int linhas = colunas.length == 0 ? 0 : tamanhoDaColuna(colunas[0]);
+            for (int i = 0; i < linhas; i++) {
+                escritor.escrever(i);
+                for (Object coluna : colunas) {
+                    escritor.escrever(',');
+                    if (coluna instanceof int[]) {
+                        escritor.escrever(((int[]) coluna)[i]);
+                    } else if (coluna instanceof long[]) {
+                        escritor.escrever(((long[]) coluna)[i]);
+                    } else if (coluna instanceof double[]) {
+                        escritor.escrever(((double[]) coluna)[i]);
+                    } else if (coluna instanceof Vertice[]) {
+                        Vertice v = ((Vertice[]) coluna)[i];
+                        if (v != null) {
+                            escritor.escrever(v.id());
+                        }
+                    } else {
+                        throw new IllegalArgumentException("Coluna de tipo não suportado: " + coluna.getClass().getSimpleName());
+                    }
+                }
+                escritor.novaLinha();
+            }
+            return true;
+        } catch (IOException ex) {
+            Logger.getLogger(FileManager.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        }
+    }
+    
+    private static int tamanhoDaColuna(Object coluna) {
+        if (coluna instanceof int[]) {
+            return ((int[]) coluna).length;
+        } else if (coluna instanceof long[]) {
+            return ((long[]) coluna).length;
+        } else if (coluna instanceof double[]) {
+            return ((double[]) coluna).length;
+        } else if (coluna instanceof Vertice[]) {
+            return ((Vertice[]) coluna).length;
+        }
+        throw new IllegalArgumentException("Coluna de tipo não suportado: " + coluna.getClass().getSimpleName());
+    }
+    
+    /**
+     * Exporta uma coleção de arestas (ex.: AGM, caminho mínimo, árvore da BFS) em CSV "origem,destino,peso"
+     * @return true se o arquivo foi gravado
+     */
+    public boolean csvEdgesWriter (String path, Collection<Aresta> arestas){ 
+        try (EscritorBufferizado escritor = new EscritorBufferizado(path)) {
+            escritor.escrever("origem,destino,peso").novaLinha();
+            for (Aresta a : arestas) {
+                escritor.escrever(a.origem().id()).escrever(',').escrever(a.destino().id())
+                        .escrever(',').escrever(a.peso()).novaLinha();
+            }
+            return true;
+        } catch (IOException ex) {
+            Logger.getLogger(FileManager.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        }
+    }
+    
+    /**
+     * Visitante das exportações, que pode lançar IOException
+     */
+    private interface EscritaDeAresta {
+        void escrever(int destino, double peso) throws IOException;
+    }
+    
+    /**
+     * Percorre as arestas de saída de 'u' repassando a primeira IOException da escrita
+     */
+    private static void percorrerComEscrita(Grafo g, int u, EscritaDeAresta escrita) throws IOException {
+        IOException[] erro = new IOException[1];
+        g.percorrerAdjacentes(u, (v, peso) -> {
+            try {
+                escrita.escrever(v, peso);
+                return true;
+            } catch (IOException ex) {
+                erro[0] = ex;
+                return false;
+            }
+        });
+        if (erro[0] != null) {
+            throw erro[0];
+        }
+    }
+    
     public ArrayList<String> stringReaderWithoutHeader (String path){ 
         BufferedReader buffRead = null;
         try {
@@ -0,0 +1,147 @@
+package grafos;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Fluxo que entrega o conteúdo descompactado de um arquivo gzip
+ * A descompressão roda em uma thread própria, que preenche blocos de TAMANHO_BLOCO bytes e os coloca
+ * em uma fila limitada; quem lê este fluxo (o analisador) consome os blocos enquanto os próximos
+ * são descompactados, então o custo da descompressão fica escondido atrás da leitura das arestas
+ * A memória usada é de no máximo BLOCOS_NA_FILA + 2 blocos, qualquer que seja o tamanho do arquivo
+ * Cada fluxo descompacta o arquivo do início: quem precisa ler o arquivo várias vezes (como o carregarGrafo,
+ * uma vez por passada) o descompacta antes para um arquivo temporário (ver FileManager.descompactar)
+ * Qualquer erro da thread (inclusive OutOfMemoryError) encerra a fila e é repassado a quem lê
+ */
+class FluxoDescompactado extends InputStream {
+
+    private static final int TAMANHO_BLOCO = 1 << 20;
+    private static final int BLOCOS_NA_FILA = 4;
+    // Bloco vazio que marca o fim do arquivo
+    private static final byte[] FIM = new byte[0];
+
+    private BlockingQueue<byte[]> fila;
+    private Thread descompressor;
+    // Erro da thread de descompressão, repassado na próxima leitura
+    private volatile Throwable erro;
+    private volatile boolean fechado;
+
+    private byte[] bloco;
+    private int pos;
+
+    /**
+     * Começa a descompactar o arquivo em segundo plano
+     * @param compactado O arquivo gzip aberto (fechado por este fluxo)
+     */
+    FluxoDescompactado(InputStream compactado) {
+        this.fila = new ArrayBlockingQueue<>(BLOCOS_NA_FILA);
+        this.descompressor = new Thread(() -> descompactar(compactado), "descompressao-gzip");
+        this.descompressor.setDaemon(true);
+        this.descompressor.start();
+    }
+
+    /**
+     * Corpo da thread de descompressão
+     * Todos os blocos vêm cheios, menos o último, que é cortado no tamanho exato
+     * O FIM é colocado na fila em qualquer caso, para que quem lê nunca fique esperando
+     */
+    private void descompactar(InputStream compactado) {
+        try (InputStream arquivo = compactado; GZIPInputStream gzip = new GZIPInputStream(arquivo, 1 << 16)) {
+            while (!fechado) {
+                byte[] novo = new byte[TAMANHO_BLOCO];
+                int tamanho = 0;
+                int lidos;
+                while (tamanho < TAMANHO_BLOCO && (lidos = gzip.read(novo, tamanho, TAMANHO_BLOCO - tamanho)) > 0) {
+                    tamanho += lidos;
+                }
+                if (tamanho == 0) {
+                    break;
+                }
+                fila.put(tamanho == TAMANHO_BLOCO ? novo : Arrays.copyOf(novo, tamanho));
+            }
+        } catch (InterruptedException e) {
+            // Fluxo fechado por quem lia
+        } catch (Throwable e) {
+            erro = e;
+        } finally {
+            try {
+                // Se o fluxo foi fechado, ninguém mais lê (e a fila pode estar cheia)
+                if (!fechado) {
+                    fila.put(FIM);
+                }
+            } catch (InterruptedException e) {
+                // Fluxo fechado por quem lia
+            }
+        }
+    }
+
+    /**
+     * Garante um bloco com bytes não lidos
+     * @return false no fim do arquivo
+     */
+    private boolean proximoBloco() throws IOException {
+        if (bloco == FIM) {
+            return false;
+        }
+        while (bloco == null || pos == bloco.length) {
+            try {
+                bloco = fila.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Leitura interrompida.", e);
+            }
+            if (bloco == FIM) {
+                if (erro instanceof IOException) {
+                    throw (IOException) erro;
+                }
+                if (erro instanceof RuntimeException) {
+                    throw (RuntimeException) erro;
+                }
+                if (erro instanceof Error) {
+                    throw (Error) erro;
+                }
+                if (erro != null) {
+                    throw new IOException("Erro na descompressão.", erro);
+                }
+                return false;
+            }
+            pos = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!proximoBloco()) {
+            return -1;
+        }
+        return bloco[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] destino, int deslocamento, int tamanho) throws IOException {
+        if (tamanho == 0) {
+            return 0;
+        }
+        if (!proximoBloco()) {
+            return -1;
+        }
+        int copiar = Math.min(tamanho, bloco.length - pos);
+        System.arraycopy(bloco, pos, destino, deslocamento, copiar);
+        pos += copiar;
+        return copiar;
+    }
+
+    /**
+     * Para a descompressão (mesmo que o arquivo não tenha sido lido até o fim)
+     */
+    @Override
+    public void close() {
+        fechado = true;
+        descompressor.interrupt();
+    }
+}
@@ -0,0 +1,88 @@
+package grafos;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Formatos de texto aceitos pelo carregarGrafo
+ * TEXTO: o formato do trabalho ("V" na primeira linha, depois "origem destino-peso; ...")
+ * LISTA_DE_ARESTAS: uma aresta por linha, "origem destino [peso]", IDs a partir de 0, comentários com '#' ou '%'
+ *   (o comentário "# Nodes: N" do início, como nos arquivos do SNAP, dá o número mínimo de vértices)
+ * DIMACS: formato .gr do desafio de caminhos mínimos ("p sp n m", "a origem destino peso"), IDs a partir de 1
+ * MATRIX_MARKET: formato .mtx em coordenadas ("linha coluna [valor]"), IDs a partir de 1
+ */
+public enum FormatoDeGrafo {
+    TEXTO,
+    LISTA_DE_ARESTAS,
+    DIMACS,
+    MATRIX_MARKET;
+
+    /**
+     * Descobre o formato pela extensão do arquivo ou, se ela não indicar, pelas primeiras linhas
+     * Em arquivos gzip vale a extensão antes do ".gz" e as linhas já descompactadas
+     * @param path Caminho do arquivo
+     * @return O formato (TEXTO se não for possível ler o arquivo)
+     */
+    static FormatoDeGrafo detectar(String path) {
+        String nome = path.toLowerCase();
+        if (nome.endsWith(".gz")) {
+            nome = nome.substring(0, nome.length() - 3);
+        }
+        if (nome.endsWith(".gr")) {
+            return DIMACS;
+        }
+        if (nome.endsWith(".mtx")) {
+            return MATRIX_MARKET;
+        }
+        if (nome.endsWith(".el") || nome.endsWith(".edges") || nome.endsWith(".edgelist")
+                || nome.endsWith(".tsv") || nome.endsWith(".csv")) {
+            return LISTA_DE_ARESTAS;
+        }
+
+        byte[] inicio = new byte[4096];
+        int tamanho = 0;
+        InputStream aberto = new FileManager().inputStream(path);
+        if (aberto == null) {
+            return TEXTO;
+        }
+        try (InputStream entrada = aberto) {
+            int lidos;
+            while (tamanho < inicio.length && (lidos = entrada.read(inicio, tamanho, inicio.length - tamanho)) > 0) {
+                tamanho += lidos;
+            }
+        } catch (IOException ex) {
+            return TEXTO;
+        }
+
+        // Primeira linha não vazia
+        int i = 0;
+        while (i < tamanho && (inicio[i] == ' ' || inicio[i] == '\t' || inicio[i] == '\r' || inicio[i] == '\n'
+                || (inicio[i] & 0xFF) == 0xEF || (inicio[i] & 0xFF) == 0xBB || (inicio[i] & 0xFF) == 0xBF)) {
+            i++;
+        }
+        if (i == tamanho) {
+            return TEXTO;
+        }
+        if (inicio[i] == '%' && i + 1 < tamanho && inicio[i + 1] == '%') {
+            return MATRIX_MARKET; // "%%MatrixMarket"
+        }
+        if ((inicio[i] == 'c' || inicio[i] == 'p') && i + 1 < tamanho && (inicio[i + 1] == ' ' || inicio[i + 1] == '\t')) {
+            return DIMACS;
+        }
+        if (inicio[i] == '#' || inicio[i] == '%') {
+            return LISTA_DE_ARESTAS;
+        }
+
+        // O formato do trabalho tem um único número na primeira linha; uma lista de arestas tem dois ou mais
+        int numeros = 0;
+        boolean dentroDeNumero = false;
+        for (; i < tamanho && inicio[i] != '\n'; i++) {
+            boolean separador = inicio[i] == ' ' || inicio[i] == '\t' || inicio[i] == '\r' || inicio[i] == ',';
+            if (!separador && !dentroDeNumero) {
+                numeros++;
+            }
+            dentroDeNumero = !separador;
+        }
+        return numeros >= 2 ? LISTA_DE_ARESTAS : TEXTO;
+    }
+}
@@ -63,6 +63,14 @@ public interface Grafo {
      */    
     public int numeroDeArestas();
     
+    /**
+     * Conta as alterações feitas no grafo por adicionarAresta e setarPeso, para
+     * que estruturas calculadas sobre ele (ex.: os marcos do A*) percebam quando
+     * ficaram desatualizadas.
+     * @return número de alterações desde a criação do grafo.
+     */
+    public long numeroDeModificacoes();
+    
     /**
      * Indica os vértices adjacentes ao vertice indicado.
      * @param vertice
@@ -72,6 +80,30 @@ public interface Grafo {
      */
     public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception;
     
+    /**
+     * Indica os vértices de onde saem arestas que chegam no vertice indicado.
+     * @param vertice
+     * @return Uma coleção com a origem de cada aresta que entra no vértice indicado.
+     * @throws java.lang.Exception Uma exceção é lançada quando o vértice indicado
+     * não existe.
+     */
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception;
+    
+    /**
+     * Percorre as arestas que saem do vértice indicado, sem criar objetos.
+     * @param vertice ID do vértice de origem.
+     * @param visitante Recebe o ID do destino e o peso de cada aresta, na mesma
+     * ordem de adjacentesDe.
+     */
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante);
+    
+    /**
+     * Percorre as arestas que chegam no vértice indicado, sem criar objetos.
+     * @param vertice ID do vértice de destino.
+     * @param visitante Recebe o ID da origem e o peso de cada aresta.
+     */
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante);
+    
     /**
      * Seta o peso da aresta entre os vértices origem e destino.
      * @param origem
@@ -0,0 +1,515 @@
+package grafos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Implementação da interface Grafo usando a estrutura CSR (Compressed Sparse Row)
+ * Nesta estrutura, o grafo é representado por três vetores primitivos contíguos:
+ * 1. `inicio` (V + 1): as arestas que saem do vértice 'i' ocupam as posições [inicio[i], inicio[i + 1]) dos outros dois vetores
+ * 2. `destinos` (A): o ID do vértice de destino de cada aresta
+ * 3. `pesos` (A): o peso de cada aresta
+ * Nenhum objeto Aresta é armazenado, eles só são criados quando pedidos por arestasEntre
+ * As arestas adicionadas ficam em vetores pendentes, encadeadas por origem e por destino, e as consultas percorrem
+ * os vetores compactos e depois essas cadeias. Quando as pendentes passam de (V + A) / 4, elas são incorporadas
+ * aos vetores compactos de uma vez (cada aresta adicionada custa O(1) amortizado, mesmo alternando com consultas)
+ * A ordem das arestas de cada vértice é a ordem de inserção (igual à Lista de Adjacência); os antecessores
+ * seguem a ordem das origens, com os das arestas ainda pendentes no fim
+ * As arestas que chegam em cada vértice são indexadas por um CSR reverso, montado apenas quando é consultado
+ * Vértices com grau de saída acima de IndiceDeDestinos.GRAU_MINIMO ganham, na primeira busca por destino,
+ * um índice hash das suas arestas (as posições indexadas são relativas a inicio[u])
+ */
+public class GrafoCSR implements Grafo {
+
+    // Armazena a lista de todos os vértices (objetos) do grafo
+    private ArrayList<Vertice> vertices;
+    private int numVertices;
+    private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
+
+    // Vetores compactos
+    private int[] inicio;
+    private int[] destinos;
+    private double[] pesos;
+    // Grau de entrada de cada vértice (contando as arestas pendentes)
+    private int[] grauEntrada;
+    // CSR reverso: as arestas que chegam no vértice 'i' estão em [inicioEntrada[i], inicioEntrada[i + 1]) de
+    // origensEntrada (a origem) e posicoesEntrada (a posição da aresta em destinos/pesos). Nulo até ser consultado
+    private int[] inicioEntrada;
+    private int[] origensEntrada;
+    private int[] posicoesEntrada;
+    // Índice por destino de cada vértice de grau alto, criado sob demanda (nulo nos demais)
+    private IndiceDeDestinos[] indices;
+
+    // Arestas adicionadas que ainda não foram compactadas (na ordem de inserção)
+    private int[] origensPendentes;
+    private int[] destinosPendentes;
+    private double[] pesosPendentes;
+    private int numPendentes;
+    // Cadeias das pendentes: a próxima pendente com a mesma origem (ou destino), ou -1
+    private int[] proximaPendenteSaida;
+    private int[] proximaPendenteEntrada;
+    // Primeira e última pendente de cada vértice como origem e como destino (-1 se não houver),
+    // nulos enquanto não houver pendentes
+    private int[] primeiraPendenteSaida;
+    private int[] ultimaPendenteSaida;
+    private int[] primeiraPendenteEntrada;
+    private int[] ultimaPendenteEntrada;
+
+    /**
+     * Construtor
+     * @param vertices Uma lista de todos os vértices que vão compor o grafo
+     */
+    public GrafoCSR(ArrayList<Vertice> vertices) {
+        this(vertices, new int[vertices.size() + 1], new int[0], new double[0]);
+    }
+
+    /**
+     * Construtor a partir de vetores CSR já montados (os vetores passam a pertencer ao grafo)
+     * @param vertices Uma lista de todos os vértices que vão compor o grafo
+     * @param inicio Vetor de V + 1 posições com o início das arestas de cada vértice
+     * @param destinos Destino de cada aresta
+     * @param pesos Peso de cada aresta
+     */
+    public GrafoCSR(ArrayList<Vertice> vertices, int[] inicio, int[] destinos, double[] pesos) {
+        this.vertices = vertices;
+        this.numVertices = vertices.size();
+        this.inicio = inicio;
+        this.numArestas = inicio[numVertices];
+        this.destinos = destinos;
+        this.pesos = pesos;
+        this.grauEntrada = new int[numVertices];
+        this.indices = new IndiceDeDestinos[numVertices];
+        for (int i = 0; i < numArestas; i++) {
+            this.grauEntrada[destinos[i]]++;
+        }
+
+        liberarPendentes();
+    }
+
+    /**
+     * Adiciona uma aresta com peso padrão (1.0)
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino) throws Exception {
+        adicionarAresta(origem, destino, 1.0);
+    }
+
+    /**
+     * Adiciona uma aresta com peso específico ao grafo
+     * A aresta fica pendente, no fim das cadeias da origem e do destino, até que as pendentes sejam compactadas
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino, double peso) throws Exception {
+        int u = origem.id();
+        int v = destino.id();
+        if (numPendentes == 0) {
+            primeiraPendenteSaida = new int[numVertices];
+            ultimaPendenteSaida = new int[numVertices];
+            primeiraPendenteEntrada = new int[numVertices];
+            ultimaPendenteEntrada = new int[numVertices];
+            Arrays.fill(primeiraPendenteSaida, -1);
+            Arrays.fill(ultimaPendenteSaida, -1);
+            Arrays.fill(primeiraPendenteEntrada, -1);
+            Arrays.fill(ultimaPendenteEntrada, -1);
+        }
+        if (numPendentes == origensPendentes.length) {
+            int novoTamanho = numPendentes * 2;
+            origensPendentes = Arrays.copyOf(origensPendentes, novoTamanho);
+            destinosPendentes = Arrays.copyOf(destinosPendentes, novoTamanho);
+            pesosPendentes = Arrays.copyOf(pesosPendentes, novoTamanho);
+            proximaPendenteSaida = Arrays.copyOf(proximaPendenteSaida, novoTamanho);
+            proximaPendenteEntrada = Arrays.copyOf(proximaPendenteEntrada, novoTamanho);
+        }
+        int k = numPendentes++;
+        origensPendentes[k] = u;
+        destinosPendentes[k] = v;
+        pesosPendentes[k] = peso;
+        proximaPendenteSaida[k] = -1;
+        proximaPendenteEntrada[k] = -1;
+        if (ultimaPendenteSaida[u] < 0) {
+            primeiraPendenteSaida[u] = k;
+        } else {
+            proximaPendenteSaida[ultimaPendenteSaida[u]] = k;
+        }
+        ultimaPendenteSaida[u] = k;
+        if (ultimaPendenteEntrada[v] < 0) {
+            primeiraPendenteEntrada[v] = k;
+        } else {
+            proximaPendenteEntrada[ultimaPendenteEntrada[v]] = k;
+        }
+        ultimaPendenteEntrada[v] = k;
+        grauEntrada[v]++;
+        numArestas++;
+        modificacoes++;
+
+        // A compactação custa O(V + A): esperar até (V + A) / 4 pendentes a divide em O(1) por aresta
+        if (numPendentes * 4L > numVertices + (long) inicio[numVertices]) {
+            compactar();
+        }
+    }
+
+    /**
+     * Incorpora as arestas pendentes aos vetores compactos (counting sort pela origem)
+     * As arestas já compactadas de cada vértice vêm antes das pendentes, preservando a ordem de inserção
+     */
+    private void compactar() {
+        if (numPendentes == 0) {
+            return;
+        }
+
+        int[] novoInicio = new int[numVertices + 1];
+        for (int u = 0; u < numVertices; u++) {
+            novoInicio[u + 1] = inicio[u + 1] - inicio[u];
+        }
+        for (int i = 0; i < numPendentes; i++) {
+            novoInicio[origensPendentes[i] + 1]++;
+        }
+        for (int u = 0; u < numVertices; u++) {
+            novoInicio[u + 1] += novoInicio[u];
+        }
+
+        int[] novosDestinos = new int[numArestas];
+        double[] novosPesos = new double[numArestas];
+        // Próxima posição livre de cada vértice
+        int[] proxima = Arrays.copyOf(novoInicio, numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            int quantidade = inicio[u + 1] - inicio[u];
+            System.arraycopy(destinos, inicio[u], novosDestinos, proxima[u], quantidade);
+            System.arraycopy(pesos, inicio[u], novosPesos, proxima[u], quantidade);
+            proxima[u] += quantidade;
+        }
+        for (int i = 0; i < numPendentes; i++) {
+            int pos = proxima[origensPendentes[i]]++;
+            novosDestinos[pos] = destinosPendentes[i];
+            novosPesos[pos] = pesosPendentes[i];
+        }
+
+        this.inicio = novoInicio;
+        this.destinos = novosDestinos;
+        this.pesos = novosPesos;
+        // As posições mudaram, o CSR reverso precisa ser montado de novo
+        this.inicioEntrada = null;
+        this.origensEntrada = null;
+        this.posicoesEntrada = null;
+        this.indices = new IndiceDeDestinos[numVertices];
+        liberarPendentes();
+    }
+
+    /**
+     * Esvazia os vetores pendentes e libera as cadeias
+     */
+    private void liberarPendentes() {
+        this.origensPendentes = new int[16];
+        this.destinosPendentes = new int[16];
+        this.pesosPendentes = new double[16];
+        this.proximaPendenteSaida = new int[16];
+        this.proximaPendenteEntrada = new int[16];
+        this.primeiraPendenteSaida = null;
+        this.ultimaPendenteSaida = null;
+        this.primeiraPendenteEntrada = null;
+        this.ultimaPendenteEntrada = null;
+        this.numPendentes = 0;
+    }
+
+    /**
+     * Primeira aresta pendente que sai do vértice, ou -1
+     */
+    private int primeiraPendenteDe(int u) {
+        return numPendentes == 0 ? -1 : primeiraPendenteSaida[u];
+    }
+
+    /**
+     * Primeira aresta pendente que chega no vértice, ou -1
+     */
+    private int primeiraPendentePara(int v) {
+        return numPendentes == 0 ? -1 : primeiraPendenteEntrada[v];
+    }
+
+    /**
+     * Monta o CSR reverso (counting sort pelo destino), se ainda não existir
+     */
+    private void indexarEntrada() {
+        if (inicioEntrada != null) {
+            return;
+        }
+
+        // Só as arestas compactas (grauEntrada também conta as pendentes, que têm cadeias próprias)
+        int compactas = inicio[numVertices];
+        int[] novoInicio = new int[numVertices + 1];
+        for (int i = 0; i < compactas; i++) {
+            novoInicio[destinos[i] + 1]++;
+        }
+        for (int u = 0; u < numVertices; u++) {
+            novoInicio[u + 1] += novoInicio[u];
+        }
+
+        int[] novasOrigens = new int[compactas];
+        int[] novasPosicoes = new int[compactas];
+        int[] proxima = Arrays.copyOf(novoInicio, numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = inicio[u]; i < inicio[u + 1]; i++) {
+                int pos = proxima[destinos[i]]++;
+                novasOrigens[pos] = u;
+                novasPosicoes[pos] = i;
+            }
+        }
+
+        this.inicioEntrada = novoInicio;
+        this.origensEntrada = novasOrigens;
+        this.posicoesEntrada = novasPosicoes;
+    }
+
+    /**
+     * Posição da primeira aresta (u, v), ou -1 se não existe
+     * As posições abaixo de inicio[V] são de destinos/pesos; a partir dela, das arestas pendentes
+     * Cria o índice por destino do vértice se ele tiver grau alto
+     */
+    private int primeiraPosicao(int u, int v) {
+        int grau = inicio[u + 1] - inicio[u];
+        if (indices[u] == null && grau > IndiceDeDestinos.GRAU_MINIMO) {
+            IndiceDeDestinos indice = new IndiceDeDestinos(grau);
+            for (int i = 0; i < grau; i++) {
+                indice.adicionar(destinos[inicio[u] + i], i);
+            }
+            indices[u] = indice;
+        }
+        if (indices[u] != null) {
+            int p = indices[u].primeiro(v);
+            if (p >= 0) {
+                return inicio[u] + p;
+            }
+        } else {
+            for (int i = inicio[u]; i < inicio[u + 1]; i++) {
+                if (destinos[i] == v) {
+                    return i;
+                }
+            }
+        }
+        return posicaoPendente(primeiraPendenteDe(u), v);
+    }
+
+    /**
+     * Posição da próxima aresta (u, v) depois da posição 'i', ou -1
+     */
+    private int proximaPosicao(int u, int v, int i) {
+        int compactas = inicio[numVertices];
+        if (i >= compactas) {
+            return posicaoPendente(proximaPendenteSaida[i - compactas], v);
+        }
+        if (indices[u] != null) {
+            int p = indices[u].proximo(i - inicio[u]);
+            if (p >= 0) {
+                return inicio[u] + p;
+            }
+        } else {
+            for (int j = i + 1; j < inicio[u + 1]; j++) {
+                if (destinos[j] == v) {
+                    return j;
+                }
+            }
+        }
+        return posicaoPendente(primeiraPendenteDe(u), v);
+    }
+
+    /**
+     * Posição da primeira aresta para 'v' na cadeia de saída que começa na pendente 'k', ou -1
+     */
+    private int posicaoPendente(int k, int v) {
+        for (; k >= 0; k = proximaPendenteSaida[k]) {
+            if (destinosPendentes[k] == v) {
+                return inicio[numVertices] + k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Peso da aresta na posição 'i' (ver primeiraPosicao)
+     */
+    private double pesoNaPosicao(int i) {
+        int compactas = inicio[numVertices];
+        return i < compactas ? pesos[i] : pesosPendentes[i - compactas];
+    }
+
+    /**
+     * Verifica se existe pelo menos uma aresta entre uma origem e um destino
+     */
+    @Override
+    public boolean existeAresta(Vertice origem, Vertice destino) throws Exception {
+        return primeiraPosicao(origem.id(), destino.id()) >= 0;
+    }
+
+    /**
+     * Calcula o grau total do vértice (entrada + saida)
+     */
+    @Override
+    public int grauDoVertice(Vertice vertice) throws Exception {
+        int u = vertice.id();
+        int grau = (inicio[u + 1] - inicio[u]) + grauEntrada[u];
+        for (int k = primeiraPendenteDe(u); k >= 0; k = proximaPendenteSaida[k]) {
+            grau++;
+        }
+        return grau;
+    }
+
+    /**
+     * Retorna o número total de vértices
+     */
+    @Override
+    public int numeroDeVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Retorna o número total de arestas
+     */
+    @Override
+    public int numeroDeArestas() {
+        return numArestas;
+    }
+
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
+
+    /**
+     * Retorna uma lista de vértices adjacentes
+     * Se houver arestas paralelas, o vértice aparecerá mais de uma vez na lista
+     */
+    @Override
+    public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception {
+        int u = vertice.id();
+        ArrayList<Vertice> adjacentes = new ArrayList<>(inicio[u + 1] - inicio[u]);
+        for (int i = inicio[u]; i < inicio[u + 1]; i++) {
+            adjacentes.add(vertices.get(destinos[i]));
+        }
+        for (int k = primeiraPendenteDe(u); k >= 0; k = proximaPendenteSaida[k]) {
+            adjacentes.add(vertices.get(destinosPendentes[k]));
+        }
+        return adjacentes;
+    }
+
+    /**
+     * Retorna uma lista dos vértices de origem das arestas que chegam no vértice
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        indexarEntrada();
+        int v = vertice.id();
+        ArrayList<Vertice> antecessores = new ArrayList<>(grauEntrada[v]);
+        for (int i = inicioEntrada[v]; i < inicioEntrada[v + 1]; i++) {
+            antecessores.add(vertices.get(origensEntrada[i]));
+        }
+        for (int k = primeiraPendentePara(v); k >= 0; k = proximaPendenteEntrada[k]) {
+            antecessores.add(vertices.get(origensPendentes[k]));
+        }
+        return antecessores;
+    }
+
+    /**
+     * Percorre as arestas que saem do vértice, em sequência nos vetores compactos e depois as pendentes
+     */
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        for (int i = inicio[vertice]; i < inicio[vertice + 1]; i++) {
+            if (!visitante.visitar(destinos[i], pesos[i])) {
+                return;
+            }
+        }
+        for (int k = primeiraPendenteDe(vertice); k >= 0; k = proximaPendenteSaida[k]) {
+            if (!visitante.visitar(destinosPendentes[k], pesosPendentes[k])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Percorre as arestas que chegam no vértice, pelo CSR reverso e depois as pendentes
+     */
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        indexarEntrada();
+        for (int i = inicioEntrada[vertice]; i < inicioEntrada[vertice + 1]; i++) {
+            if (!visitante.visitar(origensEntrada[i], pesos[posicoesEntrada[i]])) {
+                return;
+            }
+        }
+        for (int k = primeiraPendentePara(vertice); k >= 0; k = proximaPendenteEntrada[k]) {
+            if (!visitante.visitar(origensPendentes[k], pesosPendentes[k])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Altera o peso da primeira aresta que encontra entre a origem e o destino
+     */
+    @Override
+    public void setarPeso(Vertice origem, Vertice destino, double peso) throws Exception {
+        int i = primeiraPosicao(origem.id(), destino.id());
+        if (i < 0) {
+            return;
+        }
+        int compactas = inicio[numVertices];
+        if (i < compactas) {
+            pesos[i] = peso;
+        } else {
+            pesosPendentes[i - compactas] = peso;
+        }
+        modificacoes++;
+    }
+
+    /**
+     * Retorna uma coleção de todas as arestas entre origem e destino
+     * Os objetos Aresta são criados a cada chamada
+     */
+    @Override
+    public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
+        ArrayList<Aresta> arestasEntre = new ArrayList<>();
+        int u = origem.id();
+        int v = destino.id();
+        for (int i = primeiraPosicao(u, v); i >= 0; i = proximaPosicao(u, v, i)) {
+            arestasEntre.add(new Aresta(origem, destino, pesoNaPosicao(i)));
+        }
+        return arestasEntre;
+    }
+
+    /**
+     * Retorna a lista de vertices.
+     */
+    @Override
+    public ArrayList<Vertice> vertices() {
+        return vertices;
+    }
+
+    /**
+     * Cria e retorna o grafo transposto G^T
+     * As pendentes são compactadas antes, e os vetores do transposto são montados diretamente a partir dos compactos
+     */
+    @Override
+    public Grafo criarGrafoTransposto() throws Exception {
+        compactar();
+        int[] inicioT = new int[numVertices + 1];
+        for (int u = 0; u < numVertices; u++) {
+            inicioT[u + 1] = inicioT[u] + grauEntrada[u];
+        }
+
+        int[] destinosT = new int[numArestas];
+        double[] pesosT = new double[numArestas];
+        int[] proxima = Arrays.copyOf(inicioT, numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = inicio[u]; i < inicio[u + 1]; i++) {
+                int pos = proxima[destinos[i]]++;
+                destinosT[pos] = u;
+                pesosT[pos] = pesos[i];
+            }
+        }
+        return new GrafoCSR(this.vertices, inicioT, destinosT, pesosT);
+    }
+}
@@ -0,0 +1,314 @@
+package grafos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Implementação da interface Grafo com listas de adjacência comprimidas (diferença + varint)
+ * Os destinos de cada vértice são ordenados e guardados como as diferenças entre destinos consecutivos,
+ * em inteiros de tamanho variável (ver ListasComprimidas), e só são decodificados ao serem percorridos
+ * Em grafos esparsos com IDs próximos isso ocupa poucos bytes por aresta, além dos pesos (que não são
+ * guardados quando todos valem 1), contra dezenas de bytes por aresta na Lista de Adjacência
+ * As arestas de cada vértice são percorridas em ordem crescente de destino (arestas paralelas na ordem de inserção)
+ * As arestas adicionadas ficam em vetores pendentes e são comprimidas junto com as demais na próxima consulta
+ * Cada compressão custa O(V + A): o grafo é feito para ser montado de uma vez (como no carregarGrafo, pelo
+ * ConstrutorDeGrafo), e intercalar adicionarAresta com consultas o comprime de novo a cada consulta
+ * As arestas que chegam em cada vértice são comprimidas em listas reversas, montadas apenas quando são consultadas
+ */
+public class GrafoComprimido implements Grafo {
+
+    // Armazena a lista de todos os vértices (objetos) do grafo
+    private ArrayList<Vertice> vertices;
+    private int numVertices;
+    private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
+
+    // Destinos de cada vértice
+    private ListasComprimidas saida;
+    // Origens das arestas que chegam em cada vértice (nulo até ser consultado)
+    private ListasComprimidas entrada;
+    private int[] grauEntrada;
+
+    // Arestas adicionadas que ainda não foram comprimidas (na ordem de inserção)
+    private int[] origensPendentes;
+    private int[] destinosPendentes;
+    private double[] pesosPendentes;
+    private int numPendentes;
+
+    /**
+     * Construtor
+     * @param vertices Uma lista de todos os vértices que vão compor o grafo
+     */
+    public GrafoComprimido(ArrayList<Vertice> vertices) {
+        this(vertices, new ListasComprimidas(vertices.size(), new int[vertices.size() + 1], new int[0], new double[0]));
+    }
+
+    /**
+     * Construtor a partir de listas já comprimidas (usado pelo transposto)
+     */
+    GrafoComprimido(ArrayList<Vertice> vertices, ListasComprimidas saida) {
+        this.vertices = vertices;
+        this.numVertices = vertices.size();
+        this.saida = saida;
+        this.grauEntrada = new int[numVertices];
+        for (int u = 0; u < numVertices; u++) {
+            this.numArestas += saida.tamanho(u);
+            saida.percorrer(u, (v, peso) -> {
+                grauEntrada[v]++;
+                return true;
+            });
+        }
+
+        this.origensPendentes = new int[16];
+        this.destinosPendentes = new int[16];
+        this.pesosPendentes = new double[16];
+        this.numPendentes = 0;
+    }
+
+    /**
+     * Adiciona uma aresta com peso padrão (1.0)
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino) throws Exception {
+        adicionarAresta(origem, destino, 1.0);
+    }
+
+    /**
+     * Adiciona uma aresta com peso específico ao grafo
+     * A aresta fica pendente até a próxima consulta, quando as listas são comprimidas de novo
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino, double peso) throws Exception {
+        if (numPendentes == origensPendentes.length) {
+            int novoTamanho = numPendentes * 2;
+            origensPendentes = Arrays.copyOf(origensPendentes, novoTamanho);
+            destinosPendentes = Arrays.copyOf(destinosPendentes, novoTamanho);
+            pesosPendentes = Arrays.copyOf(pesosPendentes, novoTamanho);
+        }
+        origensPendentes[numPendentes] = origem.id();
+        destinosPendentes[numPendentes] = destino.id();
+        pesosPendentes[numPendentes] = peso;
+        numPendentes++;
+        numArestas++;
+        modificacoes++;
+    }
+
+    /**
+     * Descomprime as listas em vetores CSR, acrescenta as arestas pendentes e comprime tudo de novo
+     * As arestas já comprimidas de cada vértice vêm antes das pendentes, para que arestas paralelas
+     * mantenham a ordem de inserção
+     */
+    private void compactar() {
+        if (numPendentes == 0) {
+            return;
+        }
+
+        int[] inicio = new int[numVertices + 1];
+        for (int u = 0; u < numVertices; u++) {
+            inicio[u + 1] = saida.tamanho(u);
+        }
+        for (int i = 0; i < numPendentes; i++) {
+            inicio[origensPendentes[i] + 1]++;
+        }
+        for (int u = 0; u < numVertices; u++) {
+            inicio[u + 1] += inicio[u];
+        }
+
+        int[] destinos = new int[numArestas];
+        double[] pesos = new double[numArestas];
+        // Próxima posição livre de cada vértice
+        int[] proxima = Arrays.copyOf(inicio, numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            final int origem = u;
+            saida.percorrer(u, (v, peso) -> {
+                int pos = proxima[origem]++;
+                destinos[pos] = v;
+                pesos[pos] = peso;
+                return true;
+            });
+        }
+        for (int i = 0; i < numPendentes; i++) {
+            int pos = proxima[origensPendentes[i]]++;
+            destinos[pos] = destinosPendentes[i];
+            pesos[pos] = pesosPendentes[i];
+            grauEntrada[destinosPendentes[i]]++;
+        }
+
+        this.saida = new ListasComprimidas(numVertices, inicio, destinos, pesos);
+        this.entrada = null;
+
+        // Libera os vetores pendentes
+        this.origensPendentes = new int[16];
+        this.destinosPendentes = new int[16];
+        this.pesosPendentes = new double[16];
+        this.numPendentes = 0;
+    }
+
+    /**
+     * Comprime as listas reversas (origens de cada destino), se ainda não existirem
+     */
+    private ListasComprimidas listasDeEntrada() {
+        compactar();
+        if (entrada != null) {
+            return entrada;
+        }
+
+        int[] inicio = new int[numVertices + 1];
+        for (int v = 0; v < numVertices; v++) {
+            inicio[v + 1] = inicio[v] + grauEntrada[v];
+        }
+        int[] origens = new int[numArestas];
+        double[] pesos = new double[numArestas];
+        int[] proxima = Arrays.copyOf(inicio, numVertices);
+        for (int u = 0; u < numVertices; u++) {
+            final int origem = u;
+            saida.percorrer(u, (v, peso) -> {
+                int pos = proxima[v]++;
+                origens[pos] = origem;
+                pesos[pos] = peso;
+                return true;
+            });
+        }
+        this.entrada = new ListasComprimidas(numVertices, inicio, origens, pesos);
+        return entrada;
+    }
+
+    /**
+     * Verifica se existe pelo menos uma aresta entre uma origem e um destino
+     */
+    @Override
+    public boolean existeAresta(Vertice origem, Vertice destino) throws Exception {
+        compactar();
+        return saida.localizar(origem.id(), destino.id()) >= 0;
+    }
+
+    /**
+     * Calcula o grau total do vértice (entrada + saida)
+     */
+    @Override
+    public int grauDoVertice(Vertice vertice) throws Exception {
+        compactar();
+        int u = vertice.id();
+        return saida.tamanho(u) + grauEntrada[u];
+    }
+
+    /**
+     * Retorna o número total de vértices
+     */
+    @Override
+    public int numeroDeVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Retorna o número total de arestas
+     */
+    @Override
+    public int numeroDeArestas() {
+        return numArestas;
+    }
+
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
+
+    /**
+     * Retorna uma lista de vértices adjacentes, em ordem crescente de ID
+     * Se houver arestas paralelas, o vértice aparecerá mais de uma vez na lista
+     */
+    @Override
+    public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception {
+        compactar();
+        int u = vertice.id();
+        ArrayList<Vertice> adjacentes = new ArrayList<>(saida.tamanho(u));
+        saida.percorrer(u, (v, peso) -> adjacentes.add(vertices.get(v)));
+        return adjacentes;
+    }
+
+    /**
+     * Retorna uma lista dos vértices de origem das arestas que chegam no vértice, em ordem crescente de ID
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        ListasComprimidas listas = listasDeEntrada();
+        int v = vertice.id();
+        ArrayList<Vertice> antecessores = new ArrayList<>(listas.tamanho(v));
+        listas.percorrer(v, (u, peso) -> antecessores.add(vertices.get(u)));
+        return antecessores;
+    }
+
+    /**
+     * Percorre as arestas que saem do vértice, decodificando a lista comprimida
+     */
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        compactar();
+        saida.percorrer(vertice, visitante);
+    }
+
+    /**
+     * Percorre as arestas que chegam no vértice, pelas listas reversas
+     */
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        listasDeEntrada().percorrer(vertice, visitante);
+    }
+
+    /**
+     * Altera o peso da primeira aresta que encontra entre a origem e o destino
+     */
+    @Override
+    public void setarPeso(Vertice origem, Vertice destino, double peso) throws Exception {
+        compactar();
+        long encontrado = saida.localizar(origem.id(), destino.id());
+        if (encontrado >= 0) {
+            saida.setarPeso((int) (encontrado >>> 32), peso);
+            // As listas reversas guardam uma cópia dos pesos
+            this.entrada = null;
+            modificacoes++;
+        }
+    }
+
+    /**
+     * Retorna uma coleção de todas as arestas entre origem e destino
+     * Os objetos Aresta são criados a cada chamada
+     */
+    @Override
+    public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
+        compactar();
+        ArrayList<Aresta> arestasEntre = new ArrayList<>();
+        long encontrado = saida.localizar(origem.id(), destino.id());
+        if (encontrado >= 0) {
+            int primeira = (int) (encontrado >>> 32);
+            int quantidade = (int) encontrado;
+            for (int i = primeira; i < primeira + quantidade; i++) {
+                arestasEntre.add(new Aresta(origem, destino, saida.peso(i)));
+            }
+        }
+        return arestasEntre;
+    }
+
+    /**
+     * Retorna a lista de vertices.
+     */
+    @Override
+    public ArrayList<Vertice> vertices() {
+        return vertices;
+    }
+
+    /**
+     * Cria e retorna o grafo transposto G^T
+     * As listas do transposto são as listas reversas deste grafo, que deixam de ser compartilhadas com ele
+     */
+    @Override
+    public Grafo criarGrafoTransposto() throws Exception {
+        ListasComprimidas listas = listasDeEntrada();
+        this.entrada = null;
+        return new GrafoComprimido(this.vertices, listas);
+    }
+}
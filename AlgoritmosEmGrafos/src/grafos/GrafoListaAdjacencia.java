@@ -7,6 +7,9 @@ import java.util.ArrayList;
  * Nesta estrutura, o grafo é representado por um ArrayList de listas. ArrayList de ArrayList de arestas
  * O índice 'i' do array principal corresponde ao vértice de ID 'i'
  * O conteúdo de listaAdjacencia.get(i) é uma lista de todas as arestas que *saem* do vértice 'i'
+ * O conteúdo de listaEntrada.get(i) é uma lista das mesmas arestas (os mesmos objetos) que *chegam* no vértice 'i'
+ * Vértices com grau de saída acima de IndiceDeDestinos.GRAU_MINIMO ganham um índice hash por destino,
+ * para que existeAresta, setarPeso e arestasEntre não precisem varrer a lista inteira
  */
 public class GrafoListaAdjacencia implements Grafo {
     
@@ -14,7 +17,13 @@ public class GrafoListaAdjacencia implements Grafo {
     private ArrayList<Vertice> vertices;
     // ArrayList de ArrayList de Arestas
     private ArrayList<ArrayList<Aresta>> listaAdjacencia;
+    // Índice reverso: arestas que chegam em cada vértice
+    private ArrayList<ArrayList<Aresta>> listaEntrada;
+    // Índice por destino de cada vértice (nulo enquanto o grau de saída é baixo)
+    private IndiceDeDestinos[] indices;
     private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
     private int numVertices;
 
     /**
@@ -28,10 +37,38 @@ public class GrafoListaAdjacencia implements Grafo {
         
         // Inicializando a lista externa com o tamanho do número de vértices
         this.listaAdjacencia = new ArrayList<>(this.numVertices);
+        this.listaEntrada = new ArrayList<>(this.numVertices);
+        this.indices = new IndiceDeDestinos[this.numVertices];
         
         // Para cada vértice se cria uma lista interna vazia para armazenar suas arestas
         for (int i = 0; i < this.numVertices; i++) {
             this.listaAdjacencia.add(new ArrayList<Aresta>());
+            this.listaEntrada.add(new ArrayList<Aresta>());
+        }
+    }
+    
+    /**
+     * Construtor com as listas já dimensionadas para os graus finais (usado pelo ConstrutorDeGrafo)
+     * Nenhuma lista nem índice precisa crescer enquanto as arestas contadas são adicionadas
+     * @param vertices Uma lista de todos os vértices que vão compor o grafo
+     * @param grauSaida Número de arestas que vão sair de cada vértice
+     * @param grauEntrada Número de arestas que vão chegar em cada vértice
+     */
+    GrafoListaAdjacencia(ArrayList<Vertice> vertices, int[] grauSaida, int[] grauEntrada) {
+        this.vertices = vertices;
+        this.numVertices = vertices.size();
+        this.numArestas = 0;
+
+        this.listaAdjacencia = new ArrayList<>(this.numVertices);
+        this.listaEntrada = new ArrayList<>(this.numVertices);
+        this.indices = new IndiceDeDestinos[this.numVertices];
+        for (int i = 0; i < this.numVertices; i++) {
+            this.listaAdjacencia.add(new ArrayList<Aresta>(grauSaida[i]));
+            this.listaEntrada.add(new ArrayList<Aresta>(grauEntrada[i]));
+            // Vértices que vão passar do grau mínimo já começam com o índice no tamanho final
+            if (grauSaida[i] > IndiceDeDestinos.GRAU_MINIMO) {
+                this.indices[i] = new IndiceDeDestinos(grauSaida[i]);
+            }
         }
     }
     
@@ -52,8 +89,30 @@ public class GrafoListaAdjacencia implements Grafo {
         Aresta novaAresta = new Aresta(origem, destino, peso);
         
         // Encontra a lista de adjacência do vértice de origem e adiciona a nova aresta nela
-        this.listaAdjacencia.get(origem.id()).add(novaAresta);
+        ArrayList<Aresta> arestasOrigem = this.listaAdjacencia.get(origem.id());
+        arestasOrigem.add(novaAresta);
+        indexar(origem.id(), arestasOrigem);
+        // E também na lista de entrada do vértice de destino
+        this.listaEntrada.get(destino.id()).add(novaAresta);
         this.numArestas++;
+        modificacoes++;
+    }
+    
+    /**
+     * Mantém o índice por destino do vértice 'u' depois de uma aresta ser adicionada no fim da sua lista
+     * O índice é criado (com todas as arestas já existentes) quando o grau passa do mínimo
+     */
+    private void indexar(int u, ArrayList<Aresta> arestasU) {
+        int ultima = arestasU.size() - 1;
+        if (indices[u] != null) {
+            indices[u].adicionar(arestasU.get(ultima).destino().id(), ultima);
+        } else if (arestasU.size() > IndiceDeDestinos.GRAU_MINIMO) {
+            IndiceDeDestinos indice = new IndiceDeDestinos(arestasU.size() * 2);
+            for (int i = 0; i <= ultima; i++) {
+                indice.adicionar(arestasU.get(i).destino().id(), i);
+            }
+            indices[u] = indice;
+        }
     }
     
     /**
@@ -61,6 +120,11 @@ public class GrafoListaAdjacencia implements Grafo {
      */
     @Override
     public boolean existeAresta(Vertice origem, Vertice destino) throws Exception { 
+        // Vértices de grau alto respondem pelo índice
+        if (indices[origem.id()] != null) {
+            return indices[origem.id()].primeiro(destino.id()) >= 0;
+        }
+        
         // Pega a lista de todas as arestas que saem da origem
         ArrayList<Aresta> arestasOrigem = listaAdjacencia.get(origem.id());
 
@@ -79,20 +143,7 @@ public class GrafoListaAdjacencia implements Grafo {
      */
     @Override
     public int grauDoVertice(Vertice vertice) throws Exception {
-        // Calcula o grau de saída
-        int grauSaida = this.listaAdjacencia.get(vertice.id()).size();
-        
-        // Calcula o grau de entrada
-        int grauEntrada = 0;
-        for (ArrayList<Aresta> listaDeOutroVertice : this.listaAdjacencia) {
-            for (Aresta aresta : listaDeOutroVertice) {
-                if (aresta.destino().id() == vertice.id()) {
-                    grauEntrada++;
-                }
-            }
-        }
-        
-        return grauSaida + grauEntrada;
+        return this.listaAdjacencia.get(vertice.id()).size() + this.listaEntrada.get(vertice.id()).size();
     }
     
     /**
@@ -110,6 +161,14 @@ public class GrafoListaAdjacencia implements Grafo {
     public int numeroDeArestas() {
         return numArestas;
     }
+
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
     
     /**
      * Retorna uma lista de vértices adjacentes
@@ -127,15 +186,66 @@ public class GrafoListaAdjacencia implements Grafo {
         return adjacentes;
     }
     
+    /**
+     * Retorna uma lista dos vértices de origem das arestas que chegam no vértice
+     * Assim como em adjacentesDe, arestas paralelas repetem o vértice
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        ArrayList<Aresta> arestasVertice = listaEntrada.get(vertice.id());
+        ArrayList<Vertice> antecessores = new ArrayList<>(arestasVertice.size());
+        for (Aresta aresta : arestasVertice) {
+            antecessores.add(aresta.origem());
+        }
+        return antecessores;
+    }
+    
+    /**
+     * Percorre as arestas que saem do vértice (laço por índice, sem criar Iterator)
+     */
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        ArrayList<Aresta> arestasVertice = listaAdjacencia.get(vertice);
+        for (int i = 0; i < arestasVertice.size(); i++) {
+            Aresta aresta = arestasVertice.get(i);
+            if (!visitante.visitar(aresta.destino().id(), aresta.peso())) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Percorre as arestas que chegam no vértice
+     */
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        ArrayList<Aresta> arestasVertice = listaEntrada.get(vertice);
+        for (int i = 0; i < arestasVertice.size(); i++) {
+            Aresta aresta = arestasVertice.get(i);
+            if (!visitante.visitar(aresta.origem().id(), aresta.peso())) {
+                return;
+            }
+        }
+    }
+    
     /**
      * Altera o peso da primeira aresta que encontra entre a origem e o destino
      */
     @Override
     public void setarPeso(Vertice origem, Vertice destino, double peso) throws Exception {
         ArrayList<Aresta> arestasVertice = listaAdjacencia.get(origem.id());
+        if (indices[origem.id()] != null) {
+            int primeira = indices[origem.id()].primeiro(destino.id());
+            if (primeira >= 0) {
+                arestasVertice.get(primeira).setarPeso(peso);
+                modificacoes++;
+            }
+            return;
+        }
         for (Aresta aresta : arestasVertice) {
             if (aresta.destino().id() == destino.id()) {
                 aresta.setarPeso(peso);
+                modificacoes++;
                 return;
             }
         }
@@ -150,6 +260,15 @@ public class GrafoListaAdjacencia implements Grafo {
         // Pega a lista de arestas que saem da origem
         ArrayList<Aresta> arestasVertice = listaAdjacencia.get(origem.id());
         
+        IndiceDeDestinos indice = indices[origem.id()];
+        if (indice != null) {
+            // Segue o encadeamento das arestas paralelas, sem varrer a lista
+            for (int p = indice.primeiro(destino.id()); p >= 0; p = indice.proximo(p)) {
+                arestasEntre.add(arestasVertice.get(p));
+            }
+            return arestasEntre;
+        }
+        
         for (Aresta aresta : arestasVertice) {
             // Se a aresta aponta para o destino, adiciona à lista de retorno
             if (aresta.destino().id() == destino.id()) {
@@ -0,0 +1,374 @@
+package grafos;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+
+/**
+ * Implementação da interface Grafo com as arestas em um arquivo mapeado em memória (FileChannel.map)
+ * Os vetores ficam fora do heap da JVM: quem guarda as páginas em uso é o cache do sistema operacional,
+ * então o grafo pode ser maior que o heap. Abrir o arquivo não lê nem interpreta as arestas.
+ * * Formato do arquivo (little-endian, cada seção começa em posição múltipla de 8):
+ * Cabeçalho (64 bytes): int MAGICO, int VERSAO, int flags, int V, long A (o resto é reservado)
+ * int[V + 1] inicio: as arestas que saem de 'u' estão em [inicio[u], inicio[u + 1]) das duas seções seguintes
+ * int[A] destinos
+ * double[A] pesos (vazia se a flag SEM_PESOS estiver ligada: todas as arestas têm peso 1)
+ * int[V + 1] inicioEntrada: as arestas que chegam em 'v' estão em [inicioEntrada[v], inicioEntrada[v + 1]) das duas seções seguintes
+ * int[A] origensEntrada: a origem de cada aresta que chega
+ * int[A] posicoesEntrada: a posição da mesma aresta em destinos/pesos
+ * * O arquivo é criado a partir de qualquer Grafo por GrafoMapeado.gravar. O grafo mapeado não permite
+ * adicionar arestas; setarPeso só funciona se o arquivo for aberto para escrita.
+ */
+public class GrafoMapeado implements Grafo {
+
+    // "GRFB" em little-endian
+    static final int MAGICO = 0x42465247;
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 64;
+    // Flags do cabeçalho
+    static final int SEM_PESOS = 1;
+
+    private SegmentosMapeados arquivo;
+    private boolean escrita;
+    private boolean semPesos;
+    private int numVertices;
+    private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
+    // Posição (em bytes) de cada seção no arquivo
+    private long secaoInicio;
+    private long secaoDestinos;
+    private long secaoPesos;
+    private long secaoInicioEntrada;
+    private long secaoOrigensEntrada;
+    private long secaoPosicoesEntrada;
+    // Lista de vértices, criada apenas quando pedida
+    private ArrayList<Vertice> vertices;
+
+    /**
+     * Abre um grafo gravado por GrafoMapeado.gravar, somente para leitura
+     * @param path Caminho do arquivo
+     * @throws Exception Se o arquivo não existir ou não estiver no formato esperado
+     */
+    public GrafoMapeado(String path) throws Exception {
+        this(path, false);
+    }
+
+    /**
+     * Abre um grafo gravado por GrafoMapeado.gravar
+     * @param path Caminho do arquivo
+     * @param escrita Se true, setarPeso altera o arquivo
+     * @throws Exception Se o arquivo não existir ou não estiver no formato esperado
+     */
+    public GrafoMapeado(String path, boolean escrita) throws Exception {
+        this.escrita = escrita;
+        try (RandomAccessFile raf = new RandomAccessFile(path, escrita ? "rw" : "r");
+             FileChannel canal = raf.getChannel()) {
+            if (canal.size() < TAMANHO_CABECALHO) {
+                throw new Exception("Arquivo de grafo mapeado inválido: " + path);
+            }
+            this.arquivo = new SegmentosMapeados(canal,
+                    escrita ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, canal.size());
+        }
+
+        if (arquivo.lerInt(0) != MAGICO || arquivo.lerInt(4) != VERSAO) {
+            throw new Exception("Arquivo de grafo mapeado inválido: " + path);
+        }
+        int flags = arquivo.lerInt(8);
+        if ((flags & ~SEM_PESOS) != 0) {
+            throw new Exception("Arquivo de grafo mapeado com flags desconhecidas: " + path);
+        }
+        this.semPesos = (flags & SEM_PESOS) != 0;
+        this.numVertices = arquivo.lerInt(12);
+        this.numArestas = (int) arquivo.lerLong(16);
+        long[] secoes = secoes(numVertices, numArestas, flags);
+        this.secaoInicio = secoes[0];
+        this.secaoDestinos = secoes[1];
+        this.secaoPesos = secoes[2];
+        this.secaoInicioEntrada = secoes[3];
+        this.secaoOrigensEntrada = secoes[4];
+        this.secaoPosicoesEntrada = secoes[5];
+        if (arquivo.tamanho() < secoes[6]) {
+            throw new Exception("Arquivo de grafo mapeado truncado: " + path);
+        }
+    }
+
+    /**
+     * Calcula a posição de cada seção de um grafo com V vértices e A arestas
+     * @return As posições de inicio, destinos, pesos, inicioEntrada, origensEntrada, posicoesEntrada
+     * e, por último, o tamanho total do arquivo
+     */
+    private static long[] secoes(int numVertices, int numArestas, int flags) {
+        long[] secoes = new long[7];
+        secoes[0] = TAMANHO_CABECALHO;
+        secoes[1] = SegmentosMapeados.alinhar(secoes[0] + 4L * (numVertices + 1));
+        secoes[2] = SegmentosMapeados.alinhar(secoes[1] + 4L * numArestas);
+        secoes[3] = SegmentosMapeados.alinhar(secoes[2] + ((flags & SEM_PESOS) != 0 ? 0 : 8L * numArestas));
+        secoes[4] = SegmentosMapeados.alinhar(secoes[3] + 4L * (numVertices + 1));
+        secoes[5] = SegmentosMapeados.alinhar(secoes[4] + 4L * numArestas);
+        secoes[6] = SegmentosMapeados.alinhar(secoes[5] + 4L * numArestas);
+        return secoes;
+    }
+
+    /**
+     * Grava qualquer grafo no formato do GrafoMapeado
+     * O arquivo é criado já com o tamanho final e preenchido pelo próprio mapeamento, então o heap
+     * só precisa de três vetores de V inteiros, qualquer que seja o número de arestas
+     * Se todas as arestas tiverem peso 1, a seção de pesos é omitida (flag SEM_PESOS)
+     * @param g O grafo a ser gravado
+     * @param path Caminho do arquivo (sobrescrito se existir)
+     * @throws IOException Se não for possível criar o arquivo
+     */
+    public static void gravar(Grafo g, String path) throws IOException {
+        int V = g.numeroDeVertices();
+        int A = g.numeroDeArestas();
+
+        // Primeira passada: graus de saída e de entrada, e se há algum peso diferente de 1
+        int[] proximaSaida = new int[V + 1];
+        int[] proximaEntrada = new int[V + 1];
+        boolean[] temPeso = new boolean[1];
+        for (int u = 0; u < V; u++) {
+            final int origem = u;
+            g.percorrerAdjacentes(u, (v, peso) -> {
+                proximaSaida[origem + 1]++;
+                proximaEntrada[v + 1]++;
+                temPeso[0] |= peso != 1.0;
+                return true;
+            });
+        }
+        int flags = temPeso[0] ? 0 : SEM_PESOS;
+
+        try (RandomAccessFile raf = new RandomAccessFile(path, "rw");
+             FileChannel canal = raf.getChannel()) {
+            raf.setLength(0);
+            long[] secoes = secoes(V, A, flags);
+            raf.setLength(secoes[6]);
+            SegmentosMapeados arquivo = new SegmentosMapeados(canal, FileChannel.MapMode.READ_WRITE, secoes[6]);
+
+            arquivo.gravarInt(0, MAGICO);
+            arquivo.gravarInt(4, VERSAO);
+            arquivo.gravarInt(8, flags);
+            arquivo.gravarInt(12, V);
+            arquivo.gravarLong(16, A);
+
+            // Somas de prefixo: proximaSaida[u] e proximaEntrada[v] passam a ser o início de cada vértice
+            for (int u = 0; u <= V; u++) {
+                if (u > 0) {
+                    proximaSaida[u] += proximaSaida[u - 1];
+                    proximaEntrada[u] += proximaEntrada[u - 1];
+                }
+                arquivo.gravarInt(secoes[0] + 4L * u, proximaSaida[u]);
+                arquivo.gravarInt(secoes[3] + 4L * u, proximaEntrada[u]);
+            }
+
+            // Segunda passada: cada aresta vai para a sua posição nas seções de saída e de entrada
+            for (int u = 0; u < V; u++) {
+                final int origem = u;
+                g.percorrerAdjacentes(u, (v, peso) -> {
+                    int pos = proximaSaida[origem]++;
+                    arquivo.gravarInt(secoes[1] + 4L * pos, v);
+                    if (flags == 0) {
+                        arquivo.gravarDouble(secoes[2] + 8L * pos, peso);
+                    }
+
+                    int posEntrada = proximaEntrada[v]++;
+                    arquivo.gravarInt(secoes[4] + 4L * posEntrada, origem);
+                    arquivo.gravarInt(secoes[5] + 4L * posEntrada, pos);
+                    return true;
+                });
+            }
+            arquivo.descarregar();
+        }
+    }
+
+    private int inicio(int u) {
+        return arquivo.lerInt(secaoInicio + 4L * u);
+    }
+
+    private int inicioEntrada(int v) {
+        return arquivo.lerInt(secaoInicioEntrada + 4L * v);
+    }
+
+    private int destino(int pos) {
+        return arquivo.lerInt(secaoDestinos + 4L * pos);
+    }
+
+    private double peso(int pos) {
+        if (semPesos) {
+            return 1.0;
+        }
+        return arquivo.lerDouble(secaoPesos + 8L * pos);
+    }
+
+    /**
+     * O grafo mapeado não permite adicionar arestas
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino) throws Exception {
+        adicionarAresta(origem, destino, 1.0);
+    }
+
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino, double peso) throws Exception {
+        throw new Exception("O grafo mapeado em memória não permite adicionar arestas.");
+    }
+
+    /**
+     * Verifica se existe pelo menos uma aresta entre uma origem e um destino
+     */
+    @Override
+    public boolean existeAresta(Vertice origem, Vertice destino) throws Exception {
+        return primeiraPosicao(origem.id(), destino.id()) >= 0;
+    }
+
+    /**
+     * Posição da primeira aresta (u, v), ou -1 se não existe
+     */
+    private int primeiraPosicao(int u, int v) {
+        int fim = inicio(u + 1);
+        for (int i = inicio(u); i < fim; i++) {
+            if (destino(i) == v) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calcula o grau total do vértice (entrada + saida)
+     */
+    @Override
+    public int grauDoVertice(Vertice vertice) throws Exception {
+        int u = vertice.id();
+        return (inicio(u + 1) - inicio(u)) + (inicioEntrada(u + 1) - inicioEntrada(u));
+    }
+
+    @Override
+    public int numeroDeVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int numeroDeArestas() {
+        return numArestas;
+    }
+
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
+
+    /**
+     * Retorna uma lista de vértices adjacentes
+     */
+    @Override
+    public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception {
+        ArrayList<Vertice> vertices = vertices();
+        int u = vertice.id();
+        int fim = inicio(u + 1);
+        ArrayList<Vertice> adjacentes = new ArrayList<>(fim - inicio(u));
+        for (int i = inicio(u); i < fim; i++) {
+            adjacentes.add(vertices.get(destino(i)));
+        }
+        return adjacentes;
+    }
+
+    /**
+     * Retorna uma lista dos vértices de origem das arestas que chegam no vértice
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        ArrayList<Vertice> vertices = vertices();
+        int v = vertice.id();
+        int fim = inicioEntrada(v + 1);
+        ArrayList<Vertice> antecessores = new ArrayList<>(fim - inicioEntrada(v));
+        for (int i = inicioEntrada(v); i < fim; i++) {
+            antecessores.add(vertices.get(arquivo.lerInt(secaoOrigensEntrada + 4L * i)));
+        }
+        return antecessores;
+    }
+
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        int fim = inicio(vertice + 1);
+        for (int i = inicio(vertice); i < fim; i++) {
+            if (!visitante.visitar(destino(i), peso(i))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        int fim = inicioEntrada(vertice + 1);
+        for (int i = inicioEntrada(vertice); i < fim; i++) {
+            int origem = arquivo.lerInt(secaoOrigensEntrada + 4L * i);
+            int pos = arquivo.lerInt(secaoPosicoesEntrada + 4L * i);
+            if (!visitante.visitar(origem, peso(pos))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Altera (no arquivo) o peso da primeira aresta entre a origem e o destino
+     */
+    @Override
+    public void setarPeso(Vertice origem, Vertice destino, double peso) throws Exception {
+        if (!escrita) {
+            throw new Exception("O grafo mapeado foi aberto somente para leitura.");
+        }
+        int pos = primeiraPosicao(origem.id(), destino.id());
+        if (pos < 0) {
+            throw new Exception("Aresta não encontrada.");
+        }
+        if (semPesos) {
+            throw new Exception("O arquivo não guarda pesos (todas as arestas têm peso 1).");
+        }
+        arquivo.gravarDouble(secaoPesos + 8L * pos, peso);
+        modificacoes++;
+    }
+
+    /**
+     * Retorna uma coleção de todas as arestas entre origem e destino
+     * Os objetos Aresta são criados a cada chamada
+     */
+    @Override
+    public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
+        ArrayList<Aresta> arestasEntre = new ArrayList<>();
+        int v = destino.id();
+        int fim = inicio(origem.id() + 1);
+        for (int i = inicio(origem.id()); i < fim; i++) {
+            if (destino(i) == v) {
+                arestasEntre.add(new Aresta(origem, destino, peso(i)));
+            }
+        }
+        return arestasEntre;
+    }
+
+    /**
+     * Retorna a lista de vertices (criada na primeira chamada)
+     */
+    @Override
+    public ArrayList<Vertice> vertices() {
+        if (vertices == null) {
+            vertices = new ArrayList<>(numVertices);
+            for (int i = 0; i < numVertices; i++) {
+                vertices.add(new Vertice(i));
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * Retorna o grafo transposto como uma visão sobre o mesmo arquivo (as arestas de entrada já estão indexadas)
+     */
+    @Override
+    public Grafo criarGrafoTransposto() throws Exception {
+        return new GrafoTransposto(this);
+    }
+}
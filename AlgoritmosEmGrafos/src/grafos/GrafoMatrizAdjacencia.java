@@ -4,17 +4,27 @@ import java.util.ArrayList;
 
 /**
  * Implementação da interface Grafo usando a estrutura de Matriz de Adjacência
- * * Nesta estrutura, o grafo é uma matriz (V x V)
- * A célula matriz[i][j] armazena o *peso* da aresta que vai do vértice 'i' para o 'j'
+ * * Nesta estrutura, o grafo é uma matriz (V x V) guardada em um único vetor primitivo, linha por linha
+ * A célula pesos[i * V + j] armazena o *peso* da aresta que vai do vértice 'i' para o 'j'
+ * * A presença da aresta fica em um vetor de bits (`presenca`), também linha por linha, com cada linha
+ * ocupando um número inteiro de palavras de 64 bits, para que as linhas possam ser varridas palavra a palavra
  * * não suporta arestas paralelas
  */
 public class GrafoMatrizAdjacencia implements Grafo {
     
     // Armazena a lista de todos os vértices (objetos) do grafo
     private ArrayList<Vertice> vertices;
-    private Double[][] matriz; 
+    // Pesos das arestas (V x V), só tem significado onde o bit de presença está ligado
+    private double[] pesos;
+    // Bits de presença (V x palavrasPorLinha palavras)
+    private long[] presenca;
+    private int palavrasPorLinha;
+    // Grau de entrada de cada vértice, mantido a cada nova aresta
+    private int[] grauEntrada;
     private int numVertices;
     private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
 
     /**
      * Construtor
@@ -24,7 +34,22 @@ public class GrafoMatrizAdjacencia implements Grafo {
         this.vertices = vertices;
         this.numVertices = vertices.size();
         this.numArestas = 0;
-        this.matriz = new Double[numVertices][numVertices];
+
+        long celulas = (long) numVertices * numVertices;
+        if (celulas > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matriz de adjacência não suporta " + numVertices + " vértices.");
+        }
+        this.pesos = new double[(int) celulas];
+        this.palavrasPorLinha = (numVertices + 63) >>> 6;
+        this.presenca = new long[numVertices * palavrasPorLinha];
+        this.grauEntrada = new int[numVertices];
+    }
+
+    /**
+     * Verifica o bit de presença da célula (u, v)
+     */
+    private boolean presente(int u, int v) {
+        return (presenca[u * palavrasPorLinha + (v >>> 6)] & (1L << v)) != 0;
     }
 
     /**
@@ -44,11 +69,14 @@ public class GrafoMatrizAdjacencia implements Grafo {
         int u = origem.id();
         int v = destino.id();
 
-        if (this.matriz[u][v] == null) {
+        if (!presente(u, v)) {
+            presenca[u * palavrasPorLinha + (v >>> 6)] |= 1L << v;
+            grauEntrada[v]++;
             this.numArestas++;
         }
 
-        this.matriz[u][v] = peso; 
+        this.pesos[u * numVertices + v] = peso; 
+        modificacoes++;
     }
 
     /**
@@ -56,24 +84,21 @@ public class GrafoMatrizAdjacencia implements Grafo {
      */
     @Override
     public boolean existeAresta(Vertice origem, Vertice destino) throws Exception {
-        return this.matriz[origem.id()][destino.id()] != null;
+        return presente(origem.id(), destino.id());
     }
 
     /**
      * Calcula o grau total do vértice (entrada + saida).
+     * O grau de saída é a contagem de bits da linha, palavra a palavra
      */
     @Override
     public int grauDoVertice(Vertice vertice) throws Exception {
-        int grau = 0;
         int u = vertice.id();
+        int grau = grauEntrada[u];
         
-        for (int v = 0; v < numVertices; v++) {
-            if (this.matriz[u][v] != null) {
-                grau++; 
-            }
-            if (this.matriz[v][u] != null) {
-                grau++; 
-            }
+        int base = u * palavrasPorLinha;
+        for (int w = 0; w < palavrasPorLinha; w++) {
+            grau += Long.bitCount(presenca[base + w]);
         }
         
         // Se existir um loop entre dois vertices vai contar duas vezes
@@ -96,22 +121,82 @@ public class GrafoMatrizAdjacencia implements Grafo {
         return this.numArestas;
     }
 
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
+
     /**
      * Retorna uma lista de vértices adjacentes 
+     * Percorre apenas os bits ligados da linha, palavra a palavra
      */
     @Override
     public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception {
         ArrayList<Vertice> adjacentes = new ArrayList<>();
-        int u = vertice.id();
+        int base = vertice.id() * palavrasPorLinha;
         
-        for (int v = 0; v < numVertices; v++) {
-            if (this.matriz[u][v] != null) {
+        for (int w = 0; w < palavrasPorLinha; w++) {
+            long palavra = presenca[base + w];
+            while (palavra != 0) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(palavra);
                 adjacentes.add(vertices.get(v));
+                palavra &= palavra - 1; // Desliga o bit menos significativo
             }
         }
         return adjacentes;
     }
 
+    /**
+     * Retorna uma lista dos vértices que têm aresta para o vértice (varre a coluna)
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        ArrayList<Vertice> antecessores = new ArrayList<>(grauEntrada[vertice.id()]);
+        int v = vertice.id();
+        
+        for (int u = 0; u < numVertices; u++) {
+            if (presente(u, v)) {
+                antecessores.add(vertices.get(u));
+            }
+        }
+        return antecessores;
+    }
+
+    /**
+     * Percorre as arestas que saem do vértice, palavra a palavra na linha de bits
+     */
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        int base = vertice * palavrasPorLinha;
+        int baseLinha = vertice * numVertices;
+        
+        for (int w = 0; w < palavrasPorLinha; w++) {
+            long palavra = presenca[base + w];
+            while (palavra != 0) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(palavra);
+                if (!visitante.visitar(v, pesos[baseLinha + v])) {
+                    return;
+                }
+                palavra &= palavra - 1;
+            }
+        }
+    }
+
+    /**
+     * Percorre as arestas que chegam no vértice (varre a coluna)
+     */
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        for (int u = 0; u < numVertices; u++) {
+            if (presente(u, vertice) && !visitante.visitar(u, pesos[u * numVertices + vertice])) {
+                return;
+            }
+        }
+    }
+
     /**
      * Altera o peso da aresta entre a origem e o destino
      */
@@ -121,7 +206,8 @@ public class GrafoMatrizAdjacencia implements Grafo {
             throw new Exception("Aresta não encontrada.");
         }
         // Simplesmente sobrescreve o valor na célula
-        this.matriz[origem.id()][destino.id()] = peso;
+        this.pesos[origem.id() * numVertices + destino.id()] = peso;
+        modificacoes++;
     }
 
     /**
@@ -131,10 +217,9 @@ public class GrafoMatrizAdjacencia implements Grafo {
     @Override
     public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
         ArrayList<Aresta> arestasEncontradas = new ArrayList<>();
-        Double peso = this.matriz[origem.id()][destino.id()];
 
-        if (peso != null) {
-            arestasEncontradas.add(new Aresta(origem, destino, peso));
+        if (presente(origem.id(), destino.id())) {
+            arestasEncontradas.add(new Aresta(origem, destino, this.pesos[origem.id() * numVertices + destino.id()]));
         }
         return arestasEncontradas;
     }
@@ -152,17 +237,19 @@ public class GrafoMatrizAdjacencia implements Grafo {
      */
     @Override
     public Grafo criarGrafoTransposto() throws Exception {
-        Grafo gT = new GrafoMatrizAdjacencia(this.vertices);
+        GrafoMatrizAdjacencia gT = new GrafoMatrizAdjacencia(this.vertices);
 
         for (int i = 0; i < this.numVertices; i++) {
-            for (int j = 0; j < this.numVertices; j++) {
-                Double peso = this.matriz[i][j];
-                
-                if (peso != null) {
-                    gT.adicionarAresta(this.vertices.get(j), this.vertices.get(i), peso);
+            int base = i * palavrasPorLinha;
+            for (int w = 0; w < palavrasPorLinha; w++) {
+                long palavra = presenca[base + w];
+                while (palavra != 0) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(palavra);
+                    gT.adicionarAresta(this.vertices.get(j), this.vertices.get(i), this.pesos[i * numVertices + j]);
+                    palavra &= palavra - 1;
                 }
             }
         }
         return gT;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,243 @@
+package grafos;
+
+import java.util.ArrayList;
+
+/**
+ * Implementação da interface Grafo para grafos sem peso (todas as arestas com peso 1), usando uma
+ * Matriz de Adjacência de bits
+ * * Cada célula (i, j) ocupa um único bit: a linha 'i' é um bloco de palavras de 64 bits em `bits`,
+ * e o bit 'j' da linha indica se existe a aresta de 'i' para 'j'. Isso usa 64x menos memória que
+ * uma matriz de double e permite que as buscas processem 64 vértices por operação
+ * (ver buscaEmLargura e existeCiclo em MeusAlgoritmosEmGrafos)
+ * * não suporta arestas paralelas nem pesos diferentes de 1
+ */
+public class GrafoMatrizBits implements Grafo {
+
+    // Armazena a lista de todos os vértices (objetos) do grafo
+    private ArrayList<Vertice> vertices;
+    // Bits da matriz (V x palavrasPorLinha palavras)
+    private long[] bits;
+    private int palavrasPorLinha;
+    // Grau de entrada de cada vértice, mantido a cada nova aresta
+    private int[] grauEntrada;
+    private int numVertices;
+    private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
+
+    /**
+     * Construtor
+     * @param vertices Uma lista de todos os vértices que existirão no grafo.
+     */
+    public GrafoMatrizBits(ArrayList<Vertice> vertices) {
+        this.vertices = vertices;
+        this.numVertices = vertices.size();
+        this.numArestas = 0;
+        this.palavrasPorLinha = (numVertices + 63) >>> 6;
+
+        long palavras = (long) numVertices * palavrasPorLinha;
+        if (palavras > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matriz de bits não suporta " + numVertices + " vértices.");
+        }
+        this.bits = new long[(int) palavras];
+        this.grauEntrada = new int[numVertices];
+    }
+
+    /**
+     * Número de palavras de 64 bits de cada linha
+     */
+    int palavrasPorLinha() {
+        return palavrasPorLinha;
+    }
+
+    /**
+     * Palavra 'w' da linha 'u': os bits dos destinos 64*w até 64*w + 63
+     */
+    long palavra(int u, int w) {
+        return bits[u * palavrasPorLinha + w];
+    }
+
+    private boolean presente(int u, int v) {
+        return (bits[u * palavrasPorLinha + (v >>> 6)] & (1L << v)) != 0;
+    }
+
+    /**
+     * Adiciona uma aresta (sempre com peso 1)
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino) throws Exception {
+        this.adicionarAresta(origem, destino, 1.0);
+    }
+
+    /**
+     * Adiciona uma aresta ao grafo. Se a aresta já existir, nada muda
+     * @throws Exception Se o peso for diferente de 1
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino, double peso) throws Exception {
+        if (peso != 1.0) {
+            throw new Exception("A matriz de bits só representa arestas de peso 1 (recebido: " + peso + ").");
+        }
+        int u = origem.id();
+        int v = destino.id();
+
+        if (!presente(u, v)) {
+            bits[u * palavrasPorLinha + (v >>> 6)] |= 1L << v;
+            grauEntrada[v]++;
+            this.numArestas++;
+            modificacoes++;
+        }
+    }
+
+    /**
+     * Verifica se existe uma aresta entre a origem e o destino
+     */
+    @Override
+    public boolean existeAresta(Vertice origem, Vertice destino) throws Exception {
+        return presente(origem.id(), destino.id());
+    }
+
+    /**
+     * Calcula o grau total do vértice (entrada + saida).
+     * O grau de saída é a contagem de bits da linha
+     */
+    @Override
+    public int grauDoVertice(Vertice vertice) throws Exception {
+        int u = vertice.id();
+        int grau = grauEntrada[u];
+        int base = u * palavrasPorLinha;
+        for (int w = 0; w < palavrasPorLinha; w++) {
+            grau += Long.bitCount(bits[base + w]);
+        }
+        // Se existir um loop vai contar duas vezes
+        return grau;
+    }
+
+    /**
+     * Retorna o número total de vértices
+     */
+    @Override
+    public int numeroDeVertices() {
+        return this.numVertices;
+    }
+
+    /**
+     * Retorna o número total de arestas
+     */
+    @Override
+    public int numeroDeArestas() {
+        return this.numArestas;
+    }
+
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
+
+    /**
+     * Retorna uma lista de vértices adjacentes
+     */
+    @Override
+    public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception {
+        ArrayList<Vertice> adjacentes = new ArrayList<>();
+        percorrerAdjacentes(vertice.id(), (v, peso) -> adjacentes.add(vertices.get(v)));
+        return adjacentes;
+    }
+
+    /**
+     * Retorna uma lista dos vértices que têm aresta para o vértice (varre a coluna)
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        ArrayList<Vertice> antecessores = new ArrayList<>(grauEntrada[vertice.id()]);
+        percorrerAntecessores(vertice.id(), (u, peso) -> antecessores.add(vertices.get(u)));
+        return antecessores;
+    }
+
+    /**
+     * Percorre as arestas que saem do vértice, palavra a palavra na linha
+     */
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        int base = vertice * palavrasPorLinha;
+        for (int w = 0; w < palavrasPorLinha; w++) {
+            long palavra = bits[base + w];
+            while (palavra != 0) {
+                if (!visitante.visitar((w << 6) + Long.numberOfTrailingZeros(palavra), 1.0)) {
+                    return;
+                }
+                palavra &= palavra - 1; // Desliga o bit menos significativo
+            }
+        }
+    }
+
+    /**
+     * Percorre as arestas que chegam no vértice (varre a coluna)
+     */
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        for (int u = 0; u < numVertices; u++) {
+            if (presente(u, vertice) && !visitante.visitar(u, 1.0)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aceita apenas o peso 1, que é o peso de todas as arestas
+     */
+    @Override
+    public void setarPeso(Vertice origem, Vertice destino, double peso) throws Exception {
+        if (!this.existeAresta(origem, destino)) {
+            throw new Exception("Aresta não encontrada.");
+        }
+        if (peso != 1.0) {
+            throw new Exception("A matriz de bits só representa arestas de peso 1 (recebido: " + peso + ").");
+        }
+    }
+
+    /**
+     * Retorna a aresta entre origem e destino (no máximo 1, com peso 1)
+     */
+    @Override
+    public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
+        ArrayList<Aresta> arestasEncontradas = new ArrayList<>();
+        if (presente(origem.id(), destino.id())) {
+            arestasEncontradas.add(new Aresta(origem, destino));
+        }
+        return arestasEncontradas;
+    }
+
+    /**
+     * Retorna a lista de vertices
+     */
+    @Override
+    public ArrayList<Vertice> vertices() {
+        return vertices;
+    }
+
+    /**
+     * Cria e retorna o grafo transposto G^T
+     */
+    @Override
+    public Grafo criarGrafoTransposto() throws Exception {
+        GrafoMatrizBits gT = new GrafoMatrizBits(this.vertices);
+        for (int i = 0; i < numVertices; i++) {
+            int base = i * palavrasPorLinha;
+            for (int w = 0; w < palavrasPorLinha; w++) {
+                long palavra = bits[base + w];
+                while (palavra != 0) {
+                    int j = (w << 6) + Long.numberOfTrailingZeros(palavra);
+                    gT.bits[j * palavrasPorLinha + (i >>> 6)] |= 1L << i;
+                    gT.grauEntrada[i]++;
+                    palavra &= palavra - 1;
+                }
+            }
+        }
+        gT.numArestas = this.numArestas;
+        return gT;
+    }
+}
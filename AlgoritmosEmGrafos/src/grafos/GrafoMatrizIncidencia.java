@@ -1,28 +1,38 @@
 package grafos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Implementação da interface Grafo usando a estrutura de Matriz de Incidência.
- * * Nesta estrutura, o grafo é representado por duas listas:
- * 1. Uma lista de Arestas (`arestas`): A "lista mestra" que armazena os objetos Aresta (com seu peso).
- * 2. Uma Matriz (V x A) (`matriz`): Armazena a topologia.
- * * A célula matriz[v][e] (linha 'v', coluna 'a') indica como a aresta 'a' se conecta ao vértice 'v':
+ * * A matriz (V x A) é guardada de forma esparsa, apenas com as células diferentes de zero:
+ * 1. As colunas (`origens`, `destinos`, `pesos`): para cada aresta 'a', os dois vértices que ela toca e o seu peso.
+ * 2. O índice de incidência (`incidentes`): para cada vértice 'v', os índices das arestas cuja célula na linha 'v' não é zero.
+ * * A célula matriz[v][a] (linha 'v', coluna 'a') continua valendo (ver o método incidencia):
  * -1.0 : A aresta 'a' SAI do vértice 'v' (origem).
  * +1.0 : A aresta 'a' ENTRA no vértice 'v' (destino).
  * 2.0 : A aresta 'a' é um LOOP no vértice 'v'.
  * 0.0 : A aresta 'a' não toca o vértice 'v'.
+ * * Vértices com mais de IndiceDeDestinos.GRAU_MINIMO células na linha ganham um índice hash das
+ * arestas que saem deles, por destino (as posições indexadas são as posições em incidentes[v])
  */
 public class GrafoMatrizIncidencia implements Grafo {
     
     // Armazena a lista de todos os vértices (objetos) do grafo
     private ArrayList<Vertice> vertices;
-    // A lista de arestas. O índice 'i' desta lista corresponde à coluna 'i' da matriz.
-    private ArrayList<Aresta> arestas;
-    // A matriz de incidência V x A (representada como lista de listas)
-    private ArrayList<ArrayList<Double>> matriz;
+    // As colunas da matriz. O índice 'a' destes vetores corresponde à coluna 'a' da matriz.
+    private int[] origens;
+    private int[] destinos;
+    private double[] pesos;
+    // Índice de incidência: incidentes[v][0..numIncidentes[v]) são as colunas não nulas da linha 'v', em ordem crescente
+    private int[][] incidentes;
+    private int[] numIncidentes;
+    // Índice por destino das arestas que saem de cada vértice (nulo enquanto a linha é curta)
+    private IndiceDeDestinos[] indices;
     private int numVertices;
     private int numArestas;
+    // Alterações feitas pelo adicionarAresta e pelo setarPeso (ver numeroDeModificacoes)
+    private long modificacoes;
 
     /**
      * Construtor
@@ -32,11 +42,115 @@ public class GrafoMatrizIncidencia implements Grafo {
         this.vertices = vertices;
         this.numVertices = vertices.size();
         this.numArestas = 0;   
-        this.arestas = new ArrayList<>();
-        this.matriz = new ArrayList<>(this.numVertices);
-        for (int i = 0; i < this.numVertices; i++) {
-            this.matriz.add(new ArrayList<>());
+        this.origens = new int[16];
+        this.destinos = new int[16];
+        this.pesos = new double[16];
+        this.incidentes = new int[this.numVertices][];
+        this.numIncidentes = new int[this.numVertices];
+        this.indices = new IndiceDeDestinos[this.numVertices];
+    }
+
+    /**
+     * Construtor com as colunas e as linhas do índice já no tamanho final (usado pelo ConstrutorDeGrafo)
+     * Nenhum vetor precisa crescer enquanto as arestas contadas são adicionadas
+     * @param vertices Uma lista de todos os vértices que existirão no grafo
+     * @param numArestas Número de arestas (colunas) que serão adicionadas
+     * @param numIncidencias Número de células não nulas que cada linha vai ter (um loop conta uma vez)
+     */
+    GrafoMatrizIncidencia(ArrayList<Vertice> vertices, int numArestas, int[] numIncidencias) {
+        this.vertices = vertices;
+        this.numVertices = vertices.size();
+        this.numArestas = 0;
+        this.origens = new int[numArestas];
+        this.destinos = new int[numArestas];
+        this.pesos = new double[numArestas];
+        this.incidentes = new int[this.numVertices][];
+        this.numIncidentes = new int[this.numVertices];
+        this.indices = new IndiceDeDestinos[this.numVertices];
+        for (int v = 0; v < this.numVertices; v++) {
+            if (numIncidencias[v] > 0) {
+                this.incidentes[v] = new int[numIncidencias[v]];
+            }
+            // As posições indexadas vão até o número de células da linha
+            if (numIncidencias[v] > IndiceDeDestinos.GRAU_MINIMO) {
+                this.indices[v] = new IndiceDeDestinos(numIncidencias[v]);
+            }
+        }
+    }
+
+    /**
+     * Valor da célula matriz[v][a]
+     */
+    private double incidencia(int v, int a) {
+        if (origens[a] == v && destinos[a] == v) {
+            return 2.0; // Convenção para loop
+        } else if (origens[a] == v) {
+            return -1.0; // Convenção para origem
+        } else if (destinos[a] == v) {
+            return 1.0; // Convenção para destino
+        }
+        return 0.0; // Não incide
+    }
+
+    /**
+     * Registra a coluna 'a' no índice de incidência da linha 'v'
+     */
+    private void incidir(int v, int a) {
+        int[] linha = incidentes[v];
+        if (linha == null) {
+            linha = incidentes[v] = new int[4];
+        } else if (numIncidentes[v] == linha.length) {
+            linha = incidentes[v] = Arrays.copyOf(linha, linha.length * 2);
+        }
+        int posicao = numIncidentes[v]++;
+        linha[posicao] = a;
+
+        // Mantém (ou cria, se a linha ficou longa) o índice das arestas que saem de 'v'
+        if (indices[v] != null) {
+            if (origens[a] == v) {
+                indices[v].adicionar(destinos[a], posicao);
+            }
+        } else if (numIncidentes[v] > IndiceDeDestinos.GRAU_MINIMO) {
+            IndiceDeDestinos indice = new IndiceDeDestinos(numIncidentes[v] * 2);
+            for (int i = 0; i <= posicao; i++) {
+                if (origens[linha[i]] == v) {
+                    indice.adicionar(destinos[linha[i]], i);
+                }
+            }
+            indices[v] = indice;
+        }
+    }
+
+    /**
+     * Primeira posição em incidentes[u] de uma aresta (u, v), ou -1 se não existe
+     */
+    private int primeiraPosicao(int u, int v) {
+        if (indices[u] != null) {
+            return indices[u].primeiro(v);
+        }
+        int[] linha = incidentes[u];
+        for (int i = 0; i < numIncidentes[u]; i++) {
+            if (origens[linha[i]] == u && destinos[linha[i]] == v) {
+                return i;
+            }
         }
+        return -1;
+    }
+
+    /**
+     * Próxima posição em incidentes[u], depois de 'posicao', de uma aresta (u, v), ou -1
+     */
+    private int proximaPosicao(int u, int v, int posicao) {
+        if (indices[u] != null) {
+            return indices[u].proximo(posicao);
+        }
+        int[] linha = incidentes[u];
+        for (int i = posicao + 1; i < numIncidentes[u]; i++) {
+            if (origens[linha[i]] == u && destinos[linha[i]] == v) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -49,28 +163,27 @@ public class GrafoMatrizIncidencia implements Grafo {
 
     /**
      * Adiciona uma aresta com peso específico ao grafo
+     * Apenas as células não nulas da nova coluna são registradas (uma só, se for loop)
      */
     @Override
     public void adicionarAresta(Vertice origem, Vertice destino, double peso) throws Exception {
-        Aresta novaAresta = new Aresta(origem, destino, peso);
-        this.arestas.add(novaAresta);
-
-        boolean isLoop = (origem.id() == destino.id());
-        for (int v_id = 0; v_id < this.numVertices; v_id++) {
-            
-            ArrayList<Double> linha = this.matriz.get(v_id);
-            
-            if (isLoop && v_id == origem.id()) {
-                linha.add(2.0); // Convenção para loop
-            } else if (v_id == origem.id()) {
-                linha.add(-1.0); // Convenção para origem
-            } else if (v_id == destino.id()) {
-                linha.add(1.0); // Convenção para destino
-            } else {
-                linha.add(0.0); // Não incide
-            }
+        if (numArestas == origens.length) {
+            int novoTamanho = Math.max(16, numArestas * 2);
+            origens = Arrays.copyOf(origens, novoTamanho);
+            destinos = Arrays.copyOf(destinos, novoTamanho);
+            pesos = Arrays.copyOf(pesos, novoTamanho);
+        }
+        int a = numArestas;
+        origens[a] = origem.id();
+        destinos[a] = destino.id();
+        pesos[a] = peso;
+
+        incidir(origem.id(), a);
+        if (origem.id() != destino.id()) {
+            incidir(destino.id(), a);
         }
         this.numArestas++;
+        modificacoes++;
     }
 
     /**
@@ -82,16 +195,12 @@ public class GrafoMatrizIncidencia implements Grafo {
              throw new Exception("Vértice de origem ou destino nulo.");
         }
         
-        for (Aresta a : this.arestas) {
-            if (a.origem().id() == origem.id() && a.destino().id() == destino.id()) {
-                return true;
-            }
-        }
-        return false;
+        return primeiraPosicao(origem.id(), destino.id()) >= 0;
     }
 
     /**
      * Calcula o grau total do vértice (entrada + saida)
+     * É o número de células não nulas da linha do vértice
      */
     @Override
     public int grauDoVertice(Vertice vertice) throws Exception {
@@ -99,14 +208,7 @@ public class GrafoMatrizIncidencia implements Grafo {
              throw new Exception("Vértice nulo.");
         }
         
-        int grau = 0;
-        ArrayList<Double> linhaVertice = matriz.get(vertice.id());
-        for (Double i : linhaVertice) {
-            if (i != 0) {
-                grau++;
-            }
-        }
-        return grau;
+        return numIncidentes[vertice.id()];
     }
 
     /**
@@ -125,6 +227,14 @@ public class GrafoMatrizIncidencia implements Grafo {
         return numArestas;
     }
 
+    /**
+     * Retorna o número de alterações feitas no grafo (arestas adicionadas e pesos setados)
+     */
+    @Override
+    public long numeroDeModificacoes() {
+        return modificacoes;
+    }
+
     /**
      * Retorna uma lista de vértices adjacentes
      */
@@ -135,17 +245,70 @@ public class GrafoMatrizIncidencia implements Grafo {
         }
         
         ArrayList<Vertice> adjacentes = new ArrayList<>();
-        ArrayList<Double> linhaVertice = matriz.get(vertice.id());
+        int u = vertice.id();
+        int[] linha = incidentes[u];
 
-        for (int i = 0; i < numArestas; i++) {
-            if (linhaVertice.get(i) < 0 || linhaVertice.get(i) == 2.0) {
-                Aresta aresta = arestas.get(i);
-                adjacentes.add(aresta.destino());
+        for (int i = 0; i < numIncidentes[u]; i++) {
+            int a = linha[i];
+            double valor = incidencia(u, a);
+            if (valor < 0 || valor == 2.0) {
+                adjacentes.add(vertices.get(destinos[a]));
             }
         }
         return adjacentes;
     }
 
+    /**
+     * Retorna uma lista dos vértices de origem das arestas que chegam no vértice
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        if (vertice == null) {
+             throw new Exception("Vértice nulo.");
+        }
+        
+        ArrayList<Vertice> antecessores = new ArrayList<>();
+        int v = vertice.id();
+        int[] linha = incidentes[v];
+
+        for (int i = 0; i < numIncidentes[v]; i++) {
+            int a = linha[i];
+            double valor = incidencia(v, a);
+            if (valor > 0) {
+                antecessores.add(vertices.get(origens[a]));
+            }
+        }
+        return antecessores;
+    }
+
+    /**
+     * Percorre as arestas que saem do vértice (colunas com -1 ou 2 na linha)
+     */
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        int[] linha = incidentes[vertice];
+        for (int i = 0; i < numIncidentes[vertice]; i++) {
+            int a = linha[i];
+            if (origens[a] == vertice && !visitante.visitar(destinos[a], pesos[a])) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Percorre as arestas que chegam no vértice (colunas com +1 ou 2 na linha)
+     */
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        int[] linha = incidentes[vertice];
+        for (int i = 0; i < numIncidentes[vertice]; i++) {
+            int a = linha[i];
+            if (destinos[a] == vertice && !visitante.visitar(origens[a], pesos[a])) {
+                return;
+            }
+        }
+    }
+
     /**
      * Altera o peso da primeira aresta encontrada entre a origem e o destino
      */
@@ -155,17 +318,18 @@ public class GrafoMatrizIncidencia implements Grafo {
              throw new Exception("Vértice de origem ou destino nulo.");
         }
         
-        for (Aresta a : this.arestas) {
-            if (a.origem().id() == origem.id() && a.destino().id() == destino.id()) {
-                a.setarPeso(peso);
-                return;
-            }
+        int posicao = primeiraPosicao(origem.id(), destino.id());
+        if (posicao >= 0) {
+            pesos[incidentes[origem.id()][posicao]] = peso;
+            modificacoes++;
+            return;
         }
         throw new Exception("Aresta não encontrada para setar peso.");
     }
 
     /**
      * Retorna uma coleção de TODAS as arestas entre origem e destino
+     * Os objetos Aresta são criados a cada chamada
      */
     @Override
     public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
@@ -174,10 +338,10 @@ public class GrafoMatrizIncidencia implements Grafo {
         }
         
         ArrayList<Aresta> arestasEncontradas = new ArrayList<>();
-        for (Aresta a : this.arestas) {
-            if (a.origem().id() == origem.id() && a.destino().id() == destino.id()) {
-                arestasEncontradas.add(a);
-            }
+        int u = origem.id();
+        int v = destino.id();
+        for (int p = primeiraPosicao(u, v); p >= 0; p = proximaPosicao(u, v, p)) {
+            arestasEncontradas.add(new Aresta(origem, destino, pesos[incidentes[u][p]]));
         }
         return arestasEncontradas;
     }
@@ -196,9 +360,9 @@ public class GrafoMatrizIncidencia implements Grafo {
     @Override
     public Grafo criarGrafoTransposto() throws Exception {
         Grafo gT = new GrafoMatrizIncidencia(this.vertices);
-        for (Aresta a : this.arestas) {
-            gT.adicionarAresta(a.destino(), a.origem(), a.peso());
+        for (int a = 0; a < numArestas; a++) {
+            gT.adicionarAresta(vertices.get(destinos[a]), vertices.get(origens[a]), pesos[a]);
         }
         return gT;
     }
-}
\ No newline at end of file
+}
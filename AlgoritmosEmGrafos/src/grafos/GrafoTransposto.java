@@ -0,0 +1,122 @@
+package grafos;
+
+import java.util.ArrayList;
+
+/**
+ * Visão transposta (G^T) de um grafo existente
+ * Nenhuma aresta é copiada: todas as consultas são repassadas ao grafo original com
+ * os papéis de origem e destino trocados. Alterações feitas por esta visão (adicionarAresta,
+ * setarPeso) também alteram o grafo original, e vice-versa.
+ */
+public class GrafoTransposto implements Grafo {
+
+    // O grafo cujas arestas são vistas ao contrário
+    private Grafo original;
+
+    /**
+     * Construtor
+     * @param original O grafo que será visto como transposto
+     */
+    public GrafoTransposto(Grafo original) {
+        this.original = original;
+    }
+
+    /**
+     * Adiciona a aresta (origem, destino) na visão, ou seja, (destino, origem) no original
+     */
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino) throws Exception {
+        original.adicionarAresta(destino, origem);
+    }
+
+    @Override
+    public void adicionarAresta(Vertice origem, Vertice destino, double peso) throws Exception {
+        original.adicionarAresta(destino, origem, peso);
+    }
+
+    @Override
+    public boolean existeAresta(Vertice origem, Vertice destino) throws Exception {
+        return original.existeAresta(destino, origem);
+    }
+
+    /**
+     * O grau total (entrada + saida) não muda com a transposição
+     */
+    @Override
+    public int grauDoVertice(Vertice vertice) throws Exception {
+        return original.grauDoVertice(vertice);
+    }
+
+    @Override
+    public int numeroDeVertices() {
+        return original.numeroDeVertices();
+    }
+
+    @Override
+    public int numeroDeArestas() {
+        return original.numeroDeArestas();
+    }
+
+    @Override
+    public long numeroDeModificacoes() {
+        return original.numeroDeModificacoes();
+    }
+
+    /**
+     * Os adjacentes na visão são os antecessores no original
+     */
+    @Override
+    public ArrayList<Vertice> adjacentesDe(Vertice vertice) throws Exception {
+        return original.antecessoresDe(vertice);
+    }
+
+    /**
+     * Os antecessores na visão são os adjacentes no original
+     */
+    @Override
+    public ArrayList<Vertice> antecessoresDe(Vertice vertice) throws Exception {
+        return original.adjacentesDe(vertice);
+    }
+
+    @Override
+    public void percorrerAdjacentes(int vertice, VisitanteDeArestas visitante) {
+        original.percorrerAntecessores(vertice, visitante);
+    }
+
+    @Override
+    public void percorrerAntecessores(int vertice, VisitanteDeArestas visitante) {
+        original.percorrerAdjacentes(vertice, visitante);
+    }
+
+    @Override
+    public void setarPeso(Vertice origem, Vertice destino, double peso) throws Exception {
+        original.setarPeso(destino, origem, peso);
+    }
+
+    /**
+     * Retorna as arestas (destino, origem) do original, já invertidas
+     * Os objetos Aresta retornados são novos, alterar o peso deles não altera o grafo (use setarPeso)
+     */
+    @Override
+    public ArrayList<Aresta> arestasEntre(Vertice origem, Vertice destino) throws Exception {
+        ArrayList<Aresta> arestasOriginais = original.arestasEntre(destino, origem);
+        ArrayList<Aresta> arestasEntre = new ArrayList<>(arestasOriginais.size());
+        for (Aresta a : arestasOriginais) {
+            arestasEntre.add(new Aresta(origem, destino, a.peso()));
+        }
+        return arestasEntre;
+    }
+
+    @Override
+    public ArrayList<Vertice> vertices() {
+        return original.vertices();
+    }
+
+    /**
+     * O transposto da visão transposta é o próprio grafo original (não é feita cópia)
+     */
+    @Override
+    public Grafo criarGrafoTransposto() throws Exception {
+        return original;
+    }
+}
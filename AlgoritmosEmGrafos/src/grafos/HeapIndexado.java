@@ -0,0 +1,147 @@
+package grafos;
+
+import java.util.Arrays;
+
+/**
+ * Fila de prioridade de IDs de vértices (0 a capacidade-1) com chaves double, sobre vetores primitivos
+ * Heap 4-ário (cada nó tem até 4 filhos): menos níveis que o binário e os filhos de um nó ficam
+ * próximos na memória, o que barateia o removerMinimo
+ * A posição de cada vértice no heap é guardada em `posicao`, então diminuir a chave de um vértice
+ * que já está no heap custa O(log V), sem procurá-lo
+ */
+class HeapIndexado {
+
+    private static final int ARIDADE = 4;
+
+    // heap[i] é o vértice na posição i; chaves[i] é a chave dele
+    private int[] heap;
+    private double[] chaves;
+    // Posição de cada vértice no heap, ou -1 se ele não está no heap
+    private int[] posicao;
+    private int tamanho;
+
+    /**
+     * Construtor
+     * @param capacidade Número de vértices (os IDs vão de 0 a capacidade-1)
+     */
+    HeapIndexado(int capacidade) {
+        this.heap = new int[capacidade];
+        this.chaves = new double[capacidade];
+        this.posicao = new int[capacidade];
+        Arrays.fill(posicao, -1);
+        this.tamanho = 0;
+    }
+
+    boolean vazio() {
+        return tamanho == 0;
+    }
+
+    boolean contem(int v) {
+        return posicao[v] >= 0;
+    }
+
+    /**
+     * Insere o vértice com a chave ou, se ele já está no heap com chave maior, diminui a chave
+     * @return false se o vértice já estava no heap com chave menor ou igual (nada muda)
+     */
+    boolean inserirOuDiminuir(int v, double chave) {
+        int i = posicao[v];
+        if (i < 0) {
+            i = tamanho++;
+        } else if (chaves[i] <= chave) {
+            return false;
+        }
+        subir(i, v, chave);
+        return true;
+    }
+
+    /**
+     * Insere o vértice ou muda a sua chave, para mais ou para menos
+     */
+    void atualizar(int v, double chave) {
+        int i = posicao[v];
+        if (i < 0) {
+            subir(tamanho++, v, chave);
+        } else if (chave < chaves[i]) {
+            subir(i, v, chave);
+        } else {
+            descer(i, v, chave);
+        }
+    }
+
+    /**
+     * Chave do vértice de menor chave (o heap não pode estar vazio)
+     */
+    double chaveMinima() {
+        return chaves[0];
+    }
+
+    /**
+     * Remove e retorna o vértice de menor chave (o heap não pode estar vazio)
+     */
+    int removerMinimo() {
+        int minimo = heap[0];
+        posicao[minimo] = -1;
+        tamanho--;
+        if (tamanho > 0) {
+            descer(0, heap[tamanho], chaves[tamanho]);
+        }
+        return minimo;
+    }
+
+    /**
+     * Esvazia o heap em O(tamanho), para ser reaproveitado em uma nova busca
+     */
+    void limpar() {
+        for (int i = 0; i < tamanho; i++) {
+            posicao[heap[i]] = -1;
+        }
+        tamanho = 0;
+    }
+
+    /**
+     * Coloca 'v' com 'chave' na posição 'i' ou acima dela
+     */
+    private void subir(int i, int v, double chave) {
+        while (i > 0) {
+            int p = (i - 1) / ARIDADE;
+            if (chaves[p] <= chave) {
+                break;
+            }
+            colocar(i, heap[p], chaves[p]);
+            i = p;
+        }
+        colocar(i, v, chave);
+    }
+
+    /**
+     * Coloca 'v' com 'chave' na posição 'i' ou abaixo dela
+     */
+    private void descer(int i, int v, double chave) {
+        while (true) {
+            int primeiro = i * ARIDADE + 1;
+            if (primeiro >= tamanho) {
+                break;
+            }
+            int ultimo = Math.min(primeiro + ARIDADE, tamanho);
+            int menor = primeiro;
+            for (int f = primeiro + 1; f < ultimo; f++) {
+                if (chaves[f] < chaves[menor]) {
+                    menor = f;
+                }
+            }
+            if (chaves[menor] >= chave) {
+                break;
+            }
+            colocar(i, heap[menor], chaves[menor]);
+            i = menor;
+        }
+        colocar(i, v, chave);
+    }
+
+    private void colocar(int i, int v, double chave) {
+        heap[i] = v;
+        chaves[i] = chave;
+        posicao[v] = i;
+    }
+}
@@ -0,0 +1,382 @@
+package grafos;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Hierarquia de Contração (Contraction Hierarchies) para consultas de caminho mínimo
+ * O pré-processamento (ContracaoDeVertices) ordena os vértices por importância e cria atalhos;
+ * a consulta é um Dijkstra bidirecional em que a busca direta só sobe (arcos para vértices mais
+ * importantes) e a reversa só desce, então cada lado fecha poucos vértices mesmo em grafos enormes
+ * A consulta termina quando a menor distância de cada fila passa do melhor encontro μ; os atalhos
+ * do caminho são desempacotados nos arcos originais, e cada arco original vira a Aresta do grafo
+ * (a de menor peso entre as paralelas). O custo é o mesmo do caminhoMinimo
+ * * Formato do arquivo (little-endian, cada seção começa em posição múltipla de 8):
+ * Cabeçalho (64 bytes): int MAGICO, int VERSAO, int V, int A (arestas do grafo), int M (arcos), int S (arcos de subida), int D (arcos de descida)
+ * int[V + 1] inicioSubida e int[S] arcosSubida: os arcos de subida de 'v' estão em [inicioSubida[v], inicioSubida[v + 1])
+ * int[V + 1] inicioDescida e int[D] arcosDescida: os arcos de descida (que chegam em 'v' vindos de cima)
+ * int[M] arcoOrigem, int[M] arcoDestino, double[M] arcoPeso, int[M] arcoPrimeiro, int[M] arcoSegundo
+ * (atalhos que foram trocados por outros mais leves não estão em nenhum grafo, mas continuam
+ * como partes de outros atalhos, então S + D pode ser menor que M)
+ * O arquivo é aberto por mapeamento (como o GrafoMapeado): nada é lido até as consultas
+ * * A hierarquia guarda o numeroDeModificacoes do grafo e deixa de servir para ele quando o grafo muda
+ * (servePara), já que um peso diminuído pode tornar necessários atalhos que ela não tem
+ */
+class HierarquiaDeContracao {
+
+    // "HCRC" em little-endian
+    static final int MAGICO = 0x43524348;
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 64;
+
+    private Grafo g;
+    // numeroDeModificacoes do grafo quando a hierarquia foi construída ou aberta
+    private long modificacoes;
+    private int numVertices;
+    private int numArcos;
+    private int numSubida;
+    private int numDescida;
+
+    // Em memória (depois de construir) ...
+    private int[] inicioSubida;
+    private int[] arcosSubida;
+    private int[] inicioDescida;
+    private int[] arcosDescida;
+    private int[] arcoOrigem;
+    private int[] arcoDestino;
+    private double[] arcoPeso;
+    private int[] arcoPrimeiro;
+    private int[] arcoSegundo;
+    // ... ou no arquivo mapeado (depois de carregar), com a posição de cada seção
+    private SegmentosMapeados arquivo;
+    private long[] secoes;
+
+    // Estado das consultas (0 = busca direta, 1 = busca reversa)
+    private double[][] distancia;
+    private int[][] arcoPai;
+    private HeapIndexado[] heap;
+    private int[][] tocados;
+    private int[] numTocados;
+
+    private HierarquiaDeContracao(Grafo g) {
+        this.g = g;
+        this.modificacoes = g.numeroDeModificacoes();
+        this.numVertices = g.numeroDeVertices();
+    }
+
+    /**
+     * Pré-processa o grafo (ver ContracaoDeVertices)
+     * @param g O grafo (pesos não negativos)
+     * @throws IllegalArgumentException Se o grafo tiver algum peso negativo
+     */
+    static HierarquiaDeContracao construir(Grafo g) {
+        CaminhosMinimos.conferirPesos(g);
+        HierarquiaDeContracao h = new HierarquiaDeContracao(g);
+        ContracaoDeVertices c = new ContracaoDeVertices(g);
+        int V = h.numVertices;
+        h.numArcos = c.numArcos;
+        h.arcoOrigem = Arrays.copyOf(c.arcoOrigem, c.numArcos);
+        h.arcoDestino = Arrays.copyOf(c.arcoDestino, c.numArcos);
+        h.arcoPeso = Arrays.copyOf(c.arcoPeso, c.numArcos);
+        h.arcoPrimeiro = Arrays.copyOf(c.arcoPrimeiro, c.numArcos);
+        h.arcoSegundo = Arrays.copyOf(c.arcoSegundo, c.numArcos);
+
+        h.inicioSubida = new int[V + 1];
+        h.inicioDescida = new int[V + 1];
+        for (int v = 0; v < V; v++) {
+            h.inicioSubida[v + 1] = h.inicioSubida[v] + c.numSaida[v];
+            h.inicioDescida[v + 1] = h.inicioDescida[v] + c.numEntrada[v];
+        }
+        h.numSubida = h.inicioSubida[V];
+        h.numDescida = h.inicioDescida[V];
+        h.arcosSubida = new int[h.inicioSubida[V]];
+        h.arcosDescida = new int[h.inicioDescida[V]];
+        for (int v = 0; v < V; v++) {
+            System.arraycopy(c.saida[v], 0, h.arcosSubida, h.inicioSubida[v], c.numSaida[v]);
+            System.arraycopy(c.entrada[v], 0, h.arcosDescida, h.inicioDescida[v], c.numEntrada[v]);
+        }
+        return h;
+    }
+
+    /**
+     * Abre uma hierarquia gravada por gravar, mapeando o arquivo em memória
+     * @param g O grafo de que a hierarquia foi construída
+     * @throws Exception Se o arquivo não for de hierarquia ou for de outro grafo
+     */
+    static HierarquiaDeContracao carregar(String path, Grafo g) throws Exception {
+        HierarquiaDeContracao h = new HierarquiaDeContracao(g);
+        try (RandomAccessFile raf = new RandomAccessFile(path, "r");
+             FileChannel canal = raf.getChannel()) {
+            if (canal.size() < TAMANHO_CABECALHO) {
+                throw new Exception("Arquivo de hierarquia inválido: " + path);
+            }
+            h.arquivo = new SegmentosMapeados(canal, FileChannel.MapMode.READ_ONLY, canal.size());
+        }
+        SegmentosMapeados arquivo = h.arquivo;
+        if (arquivo.lerInt(0) != MAGICO || arquivo.lerInt(4) != VERSAO) {
+            throw new Exception("Arquivo de hierarquia inválido: " + path);
+        }
+        int V = arquivo.lerInt(8);
+        int A = arquivo.lerInt(12);
+        if (V != g.numeroDeVertices() || A != g.numeroDeArestas()) {
+            throw new Exception("A hierarquia é de um grafo com " + V + " vértices e " + A
+                    + " arestas, e não " + g.numeroDeVertices() + " e " + g.numeroDeArestas() + ".");
+        }
+        h.numArcos = arquivo.lerInt(16);
+        h.numSubida = arquivo.lerInt(20);
+        h.numDescida = arquivo.lerInt(24);
+        h.secoes = secoes(V, h.numArcos, h.numSubida, h.numDescida);
+        if (arquivo.tamanho() < h.secoes[9]) {
+            throw new Exception("Arquivo de hierarquia truncado: " + path);
+        }
+        return h;
+    }
+
+    /**
+     * Calcula a posição de cada seção
+     * @return inicioSubida, arcosSubida, inicioDescida, arcosDescida, arcoOrigem, arcoDestino, arcoPeso,
+     * arcoPrimeiro, arcoSegundo e, por último, o tamanho total do arquivo
+     */
+    private static long[] secoes(int V, int M, int S, int D) {
+        long[] secoes = new long[10];
+        secoes[0] = TAMANHO_CABECALHO;
+        secoes[1] = SegmentosMapeados.alinhar(secoes[0] + 4L * (V + 1));
+        secoes[2] = SegmentosMapeados.alinhar(secoes[1] + 4L * S);
+        secoes[3] = SegmentosMapeados.alinhar(secoes[2] + 4L * (V + 1));
+        secoes[4] = SegmentosMapeados.alinhar(secoes[3] + 4L * D);
+        secoes[5] = SegmentosMapeados.alinhar(secoes[4] + 4L * M);
+        secoes[6] = SegmentosMapeados.alinhar(secoes[5] + 4L * M);
+        secoes[7] = SegmentosMapeados.alinhar(secoes[6] + 8L * M);
+        secoes[8] = SegmentosMapeados.alinhar(secoes[7] + 4L * M);
+        secoes[9] = SegmentosMapeados.alinhar(secoes[8] + 4L * M);
+        return secoes;
+    }
+
+    /**
+     * Grava a hierarquia no formato descrito acima
+     * @param path Caminho do arquivo (sobrescrito se existir)
+     */
+    void gravar(String path) throws IOException {
+        int V = numVertices;
+        try (RandomAccessFile raf = new RandomAccessFile(path, "rw");
+             FileChannel canal = raf.getChannel()) {
+            raf.setLength(0);
+            long[] s = secoes(V, numArcos, numSubida, numDescida);
+            raf.setLength(s[9]);
+            SegmentosMapeados saida = new SegmentosMapeados(canal, FileChannel.MapMode.READ_WRITE, s[9]);
+            saida.gravarInt(0, MAGICO);
+            saida.gravarInt(4, VERSAO);
+            saida.gravarInt(8, V);
+            saida.gravarInt(12, g.numeroDeArestas());
+            saida.gravarInt(16, numArcos);
+            saida.gravarInt(20, numSubida);
+            saida.gravarInt(24, numDescida);
+            for (int v = 0; v <= V; v++) {
+                saida.gravarInt(s[0] + 4L * v, inicioSubida(v));
+                saida.gravarInt(s[2] + 4L * v, inicioDescida(v));
+            }
+            for (int i = 0; i < numSubida; i++) {
+                saida.gravarInt(s[1] + 4L * i, arcoSubida(i));
+            }
+            for (int i = 0; i < numDescida; i++) {
+                saida.gravarInt(s[3] + 4L * i, arcoDescida(i));
+            }
+            for (int a = 0; a < numArcos; a++) {
+                saida.gravarInt(s[4] + 4L * a, origem(a));
+                saida.gravarInt(s[5] + 4L * a, destino(a));
+                saida.gravarDouble(s[6] + 8L * a, peso(a));
+                saida.gravarInt(s[7] + 4L * a, primeiro(a));
+                saida.gravarInt(s[8] + 4L * a, segundo(a));
+            }
+            saida.descarregar();
+        }
+    }
+
+    int numeroDeVertices() {
+        return numVertices;
+    }
+
+    /**
+     * Verifica se a hierarquia pode responder consultas no grafo (o mesmo grafo, sem arestas
+     * adicionadas nem pesos alterados desde a construção)
+     */
+    boolean servePara(Grafo g) {
+        return this.g == g && modificacoes == g.numeroDeModificacoes();
+    }
+
+    /**
+     * Calcula o caminho mínimo da origem ao destino
+     * @return As arestas do caminho, ou uma lista vazia se o destino não é alcançável (ou é a origem)
+     */
+    ArrayList<Aresta> caminho(int origem, int destino) throws Exception {
+        ArrayList<Aresta> arestas = new ArrayList<>();
+        if (origem == destino) {
+            return arestas;
+        }
+        prepararConsulta();
+        iniciar(0, origem);
+        iniciar(1, destino);
+        double melhor = Double.POSITIVE_INFINITY;
+        int encontro = -1;
+
+        while (true) {
+            // Avança o lado de menor chave entre os que ainda podem melhorar o encontro
+            boolean podeDireta = !heap[0].vazio() && heap[0].chaveMinima() < melhor;
+            boolean podeReversa = !heap[1].vazio() && heap[1].chaveMinima() < melhor;
+            if (!podeDireta && !podeReversa) {
+                break;
+            }
+            int lado = podeDireta && (!podeReversa || heap[0].chaveMinima() <= heap[1].chaveMinima()) ? 0 : 1;
+            int u = heap[lado].removerMinimo();
+            double[] dist = distancia[lado];
+            double[] distOposta = distancia[1 - lado];
+            if (dist[u] + distOposta[u] < melhor) {
+                melhor = dist[u] + distOposta[u];
+                encontro = u;
+            }
+            int fim = lado == 0 ? inicioSubida(u + 1) : inicioDescida(u + 1);
+            for (int i = lado == 0 ? inicioSubida(u) : inicioDescida(u); i < fim; i++) {
+                int arco = lado == 0 ? arcoSubida(i) : arcoDescida(i);
+                int x = lado == 0 ? destino(arco) : origem(arco);
+                double nova = dist[u] + peso(arco);
+                if (nova < dist[x]) {
+                    if (dist[x] == Double.POSITIVE_INFINITY) {
+                        tocados[lado][numTocados[lado]++] = x;
+                    }
+                    dist[x] = nova;
+                    arcoPai[lado][x] = arco;
+                    heap[lado].inserirOuDiminuir(x, nova);
+                    if (nova + distOposta[x] < melhor) {
+                        melhor = nova + distOposta[x];
+                        encontro = x;
+                    }
+                }
+            }
+        }
+        if (encontro < 0) {
+            return arestas;
+        }
+
+        // Arcos da origem ao encontro (subindo) e do encontro ao destino (descendo)
+        int[] pilha = new int[64];
+        int topo = 0;
+        for (int v = encontro; arcoPai[1][v] >= 0; v = destino(arcoPai[1][v])) {
+            pilha = empilhar(pilha, topo++, arcoPai[1][v]);
+        }
+        // A pilha é desempilhada do fim para o começo: primeiro os arcos de descida, em ordem inversa
+        for (int i = 0, j = topo - 1; i < j; i++, j--) {
+            int t = pilha[i];
+            pilha[i] = pilha[j];
+            pilha[j] = t;
+        }
+        for (int v = encontro; arcoPai[0][v] >= 0; v = origem(arcoPai[0][v])) {
+            pilha = empilhar(pilha, topo++, arcoPai[0][v]);
+        }
+
+        // Desempacota os atalhos: o topo da pilha é sempre o próximo arco do caminho
+        ArrayList<Vertice> vertices = g.vertices();
+        while (topo > 0) {
+            int arco = pilha[--topo];
+            if (primeiro(arco) >= 0) {
+                pilha = empilhar(pilha, topo++, segundo(arco));
+                pilha = empilhar(pilha, topo++, primeiro(arco));
+                continue;
+            }
+            arestas.add(arestaOriginal(vertices.get(origem(arco)), vertices.get(destino(arco)), peso(arco)));
+        }
+        return arestas;
+    }
+
+    /**
+     * A aresta do grafo entre u e v com o peso do arco (a primeira, se nenhuma tiver exatamente esse peso)
+     */
+    private Aresta arestaOriginal(Vertice u, Vertice v, double peso) throws Exception {
+        ArrayList<Aresta> paralelas = g.arestasEntre(u, v);
+        for (Aresta a : paralelas) {
+            if (a.peso() == peso) {
+                return a;
+            }
+        }
+        return paralelas.isEmpty() ? null : paralelas.get(0);
+    }
+
+    private static int[] empilhar(int[] pilha, int posicao, int arco) {
+        if (posicao == pilha.length) {
+            pilha = Arrays.copyOf(pilha, pilha.length * 2);
+        }
+        pilha[posicao] = arco;
+        return pilha;
+    }
+
+    /**
+     * Aloca o estado das consultas na primeira vez e desfaz a consulta anterior nas seguintes
+     */
+    private void prepararConsulta() {
+        if (distancia == null) {
+            distancia = new double[2][numVertices];
+            arcoPai = new int[2][numVertices];
+            heap = new HeapIndexado[] {new HeapIndexado(numVertices), new HeapIndexado(numVertices)};
+            tocados = new int[2][numVertices];
+            numTocados = new int[2];
+            for (int lado = 0; lado < 2; lado++) {
+                Arrays.fill(distancia[lado], Double.POSITIVE_INFINITY);
+                Arrays.fill(arcoPai[lado], -1);
+            }
+        }
+        for (int lado = 0; lado < 2; lado++) {
+            heap[lado].limpar();
+            for (int i = 0; i < numTocados[lado]; i++) {
+                distancia[lado][tocados[lado][i]] = Double.POSITIVE_INFINITY;
+                arcoPai[lado][tocados[lado][i]] = -1;
+            }
+            numTocados[lado] = 0;
+        }
+    }
+
+    private void iniciar(int lado, int v) {
+        distancia[lado][v] = 0;
+        tocados[lado][numTocados[lado]++] = v;
+        heap[lado].inserirOuDiminuir(v, 0);
+    }
+
+    // Acesso aos vetores, em memória ou no arquivo mapeado
+
+    private int inicioSubida(int v) {
+        return arquivo == null ? inicioSubida[v] : arquivo.lerInt(secoes[0] + 4L * v);
+    }
+
+    private int arcoSubida(int i) {
+        return arquivo == null ? arcosSubida[i] : arquivo.lerInt(secoes[1] + 4L * i);
+    }
+
+    private int inicioDescida(int v) {
+        return arquivo == null ? inicioDescida[v] : arquivo.lerInt(secoes[2] + 4L * v);
+    }
+
+    private int arcoDescida(int i) {
+        return arquivo == null ? arcosDescida[i] : arquivo.lerInt(secoes[3] + 4L * i);
+    }
+
+    private int origem(int arco) {
+        return arquivo == null ? arcoOrigem[arco] : arquivo.lerInt(secoes[4] + 4L * arco);
+    }
+
+    private int destino(int arco) {
+        return arquivo == null ? arcoDestino[arco] : arquivo.lerInt(secoes[5] + 4L * arco);
+    }
+
+    private double peso(int arco) {
+        return arquivo == null ? arcoPeso[arco] : arquivo.lerDouble(secoes[6] + 8L * arco);
+    }
+
+    private int primeiro(int arco) {
+        return arquivo == null ? arcoPrimeiro[arco] : arquivo.lerInt(secoes[7] + 4L * arco);
+    }
+
+    private int segundo(int arco) {
+        return arquivo == null ? arcoSegundo[arco] : arquivo.lerInt(secoes[8] + 4L * arco);
+    }
+}
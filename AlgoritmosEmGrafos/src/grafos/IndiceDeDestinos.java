@@ -0,0 +1,109 @@
+package grafos;
+
+import java.util.Arrays;
+
+/**
+ * Índice hash (endereçamento aberto, vetores primitivos) das arestas que saem de um vértice, por destino
+ * As arestas do vértice são identificadas pela sua posição na lista do vértice (0, 1, 2, ...)
+ * Para cada destino a tabela guarda a primeira e a última posição; as demais arestas com o mesmo
+ * destino (paralelas) ficam encadeadas em `proximos`, na ordem de inserção
+ * Só compensa para vértices de grau alto, por isso as representações criam o índice apenas
+ * quando o grau passa de GRAU_MINIMO
+ */
+class IndiceDeDestinos {
+
+    // Grau a partir do qual as representações passam a indexar o vértice
+    static final int GRAU_MINIMO = 16;
+
+    // chaves[i] == destino + 1, ou 0 se a posição da tabela está vazia
+    private int[] chaves;
+    private int[] primeiros;
+    private int[] ultimos;
+    private int numChaves;
+    // proximos[p] = próxima posição com o mesmo destino da posição 'p', ou -1
+    private int[] proximos;
+
+    /**
+     * Construtor
+     * @param capacidade Número de arestas esperado (o índice cresce se passar disso)
+     */
+    IndiceDeDestinos(int capacidade) {
+        int tamanhoTabela = Integer.highestOneBit(Math.max(capacidade, 4) * 2 - 1) * 2;
+        this.chaves = new int[tamanhoTabela];
+        this.primeiros = new int[tamanhoTabela];
+        this.ultimos = new int[tamanhoTabela];
+        this.numChaves = 0;
+        this.proximos = new int[Math.max(capacidade, 4)];
+    }
+
+    /**
+     * Posição da tabela onde está (ou deveria estar) o destino
+     */
+    private int procurar(int destino) {
+        int mascara = chaves.length - 1;
+        int h = destino * 0x9E3779B9;
+        int i = (h ^ (h >>> 16)) & mascara;
+        while (chaves[i] != 0 && chaves[i] != destino + 1) {
+            i = (i + 1) & mascara; // Sondagem linear
+        }
+        return i;
+    }
+
+    /**
+     * Registra a aresta da posição 'posicao' (as posições devem ser adicionadas em ordem crescente)
+     */
+    void adicionar(int destino, int posicao) {
+        if (posicao >= proximos.length) {
+            proximos = Arrays.copyOf(proximos, Math.max(posicao + 1, proximos.length * 2));
+        }
+        proximos[posicao] = -1;
+
+        int i = procurar(destino);
+        if (chaves[i] == 0) {
+            chaves[i] = destino + 1;
+            primeiros[i] = posicao;
+            ultimos[i] = posicao;
+            numChaves++;
+            // Mantém a tabela no máximo meio cheia
+            if (numChaves * 2 > chaves.length) {
+                redimensionar();
+            }
+        } else {
+            proximos[ultimos[i]] = posicao;
+            ultimos[i] = posicao;
+        }
+    }
+
+    private void redimensionar() {
+        int[] chavesAntigas = chaves;
+        int[] primeirosAntigos = primeiros;
+        int[] ultimosAntigos = ultimos;
+
+        chaves = new int[chavesAntigas.length * 2];
+        primeiros = new int[chaves.length];
+        ultimos = new int[chaves.length];
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            if (chavesAntigas[j] != 0) {
+                int i = procurar(chavesAntigas[j] - 1);
+                chaves[i] = chavesAntigas[j];
+                primeiros[i] = primeirosAntigos[j];
+                ultimos[i] = ultimosAntigos[j];
+            }
+        }
+    }
+
+    /**
+     * @return A primeira posição com aresta para o destino, ou -1 se não existe
+     */
+    int primeiro(int destino) {
+        int i = procurar(destino);
+        return chaves[i] == 0 ? -1 : primeiros[i];
+    }
+
+    /**
+     * @return A próxima posição com o mesmo destino da posição indicada, ou -1
+     */
+    int proximo(int posicao) {
+        return proximos[posicao];
+    }
+}
@@ -0,0 +1,230 @@
+package grafos;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de listas de IDs (com peso) comprimidas por diferença + varint
+ * Cada lista é ordenada e guardada como a sequência das diferenças entre IDs consecutivos, cada
+ * diferença em um inteiro de tamanho variável (7 bits por byte, o bit mais alto indica que o número continua)
+ * Como os IDs vizinhos costumam ser próximos, a maior parte das diferenças ocupa 1 ou 2 bytes
+ * * A cada TAMANHO_BLOCO elementos a lista guarda um ponto de salto (o primeiro ID do bloco e a posição
+ * do seu byte), para que a busca por um ID faça uma busca binária nos blocos e decodifique só um bloco
+ * * Os pesos ficam em um vetor à parte, na ordem das listas ordenadas (nulo se todos forem 1)
+ */
+class ListasComprimidas {
+
+    static final int TAMANHO_BLOCO = 32;
+
+    private int numListas;
+    // Os elementos da lista 'l' são as posições [inicio[l], inicio[l + 1]) de pesos
+    private int[] inicio;
+    private byte[] dados;
+    // Os bytes da lista 'l' começam em inicioBytes[l]
+    private int[] inicioBytes;
+    // Os blocos da lista 'l' são [inicioBlocos[l], inicioBlocos[l + 1]) de primeiroDoBloco/byteDoBloco
+    private int[] inicioBlocos;
+    private int[] primeiroDoBloco;
+    private int[] byteDoBloco;
+    private double[] pesos;
+
+    /**
+     * Comprime listas dadas no formato CSR, sem copiar os vetores recebidos: cada lista é ordenada no
+     * próprio 'ids' (junto com o seu trecho de 'pesos'), 'inicio' e 'pesos' passam a ser da estrutura
+     * e 'ids' pode ser descartado em seguida
+     * Os bytes de cada lista são contados depois da ordenação, e o vetor de bytes é alocado uma única vez
+     * Elementos com o mesmo ID mantêm a ordem em que aparecem
+     * @param numListas Número de listas
+     * @param inicio Os elementos da lista 'l' estão em [inicio[l], inicio[l + 1])
+     * @param ids ID de cada elemento (não negativo)
+     * @param pesos Peso de cada elemento, ou nulo se todos forem 1
+     */
+    ListasComprimidas(int numListas, int[] inicio, int[] ids, double[] pesos) {
+        this.numListas = numListas;
+        this.inicio = inicio;
+        this.inicioBytes = new int[numListas + 1];
+        this.inicioBlocos = new int[numListas + 1];
+
+        int maiorLista = 0;
+        for (int l = 0; l < numListas; l++) {
+            int tamanho = inicio[l + 1] - inicio[l];
+            maiorLista = Math.max(maiorLista, tamanho);
+            inicioBlocos[l + 1] = inicioBlocos[l] + (tamanho + TAMANHO_BLOCO - 1) / TAMANHO_BLOCO;
+        }
+        int numElementos = inicio[numListas];
+        boolean todosPesosUm = true;
+        for (int i = 0; pesos != null && i < numElementos && todosPesosUm; i++) {
+            todosPesosUm = pesos[i] == 1.0;
+        }
+        this.pesos = todosPesosUm ? null : pesos;
+        this.primeiroDoBloco = new int[inicioBlocos[numListas]];
+        this.byteDoBloco = new int[inicioBlocos[numListas]];
+
+        // Ordena cada lista pelo par (ID, posição original), o que mantém a ordem dos IDs repetidos,
+        // e conta os bytes das suas diferenças
+        long[] chaves = new long[maiorLista];
+        double[] pesosDaLista = this.pesos == null ? null : new double[maiorLista];
+        for (int l = 0; l < numListas; l++) {
+            int base = inicio[l];
+            int tamanho = inicio[l + 1] - base;
+            for (int k = 0; k < tamanho; k++) {
+                chaves[k] = ((long) ids[base + k] << 32) | k;
+            }
+            Arrays.sort(chaves, 0, tamanho);
+            if (pesosDaLista != null) {
+                System.arraycopy(pesos, base, pesosDaLista, 0, tamanho);
+            }
+
+            int bytes = 0;
+            int anterior = 0;
+            for (int k = 0; k < tamanho; k++) {
+                int id = (int) (chaves[k] >>> 32);
+                ids[base + k] = id;
+                if (pesosDaLista != null) {
+                    pesos[base + k] = pesosDaLista[(int) chaves[k]];
+                }
+                bytes += tamanhoVarint(id - anterior);
+                anterior = id;
+            }
+            inicioBytes[l + 1] = inicioBytes[l] + bytes;
+        }
+
+        this.dados = new byte[inicioBytes[numListas]];
+        for (int l = 0; l < numListas; l++) {
+            int base = inicio[l];
+            int pos = inicioBytes[l];
+            int anterior = 0;
+            for (int k = 0; k < inicio[l + 1] - base; k++) {
+                int id = ids[base + k];
+                if (k % TAMANHO_BLOCO == 0) {
+                    int bloco = inicioBlocos[l] + k / TAMANHO_BLOCO;
+                    primeiroDoBloco[bloco] = id;
+                    byteDoBloco[bloco] = pos;
+                }
+                int diferenca = id - anterior;
+                while ((diferenca & ~0x7F) != 0) {
+                    dados[pos++] = (byte) ((diferenca & 0x7F) | 0x80);
+                    diferenca >>>= 7;
+                }
+                dados[pos++] = (byte) diferenca;
+                anterior = id;
+            }
+        }
+    }
+
+    /**
+     * Número de bytes do varint de um valor (1 a 5)
+     */
+    private static int tamanhoVarint(int valor) {
+        int bytes = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * Número de elementos da lista
+     */
+    int tamanho(int lista) {
+        return inicio[lista + 1] - inicio[lista];
+    }
+
+    /**
+     * Posição (global) do primeiro elemento da lista, usada como índice de peso
+     */
+    int inicio(int lista) {
+        return inicio[lista];
+    }
+
+    double peso(int posicao) {
+        return pesos == null ? 1.0 : pesos[posicao];
+    }
+
+    void setarPeso(int posicao, double peso) {
+        if (pesos == null) {
+            if (peso == 1.0) {
+                return;
+            }
+            pesos = new double[inicio[numListas]];
+            Arrays.fill(pesos, 1.0);
+        }
+        pesos[posicao] = peso;
+    }
+
+    /**
+     * Decodifica a lista inteira, em ordem crescente de ID
+     */
+    void percorrer(int lista, VisitanteDeArestas visitante) {
+        int pos = inicioBytes[lista];
+        int atual = 0;
+        for (int i = inicio[lista]; i < inicio[lista + 1]; i++) {
+            // Lê um varint
+            int b = dados[pos++];
+            int diferenca = b & 0x7F;
+            for (int deslocamento = 7; b < 0; deslocamento += 7) {
+                b = dados[pos++];
+                diferenca |= (b & 0x7F) << deslocamento;
+            }
+            atual += diferenca;
+            if (!visitante.visitar(atual, peso(i))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Procura um ID na lista decodificando apenas a partir do bloco onde ele pode estar
+     * Como a lista é ordenada, os elementos com o mesmo ID são consecutivos
+     * @return (posição do primeiro elemento com o ID << 32) | quantidade de elementos com o ID, ou -1 se não há nenhum
+     */
+    long localizar(int lista, int id) {
+        // Busca binária pelo último bloco cujo primeiro ID é menor que o procurado
+        int baixo = inicioBlocos[lista];
+        int alto = inicioBlocos[lista + 1] - 1;
+        int bloco = baixo;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (primeiroDoBloco[meio] < id) {
+                bloco = meio;
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        if (bloco >= inicioBlocos[lista + 1]) {
+            return -1; // Lista vazia
+        }
+
+        int i = inicio[lista] + (bloco - inicioBlocos[lista]) * TAMANHO_BLOCO;
+        int pos = byteDoBloco[bloco];
+        int atual = primeiroDoBloco[bloco];
+        // Pula o varint do primeiro elemento do bloco, cujo valor já é conhecido
+        while (dados[pos++] < 0) { }
+
+        int primeira = -1;
+        int quantidade = 0;
+        while (true) {
+            if (atual == id) {
+                if (primeira < 0) {
+                    primeira = i;
+                }
+                quantidade++;
+            } else if (atual > id) {
+                break;
+            }
+            i++;
+            if (i >= inicio[lista + 1]) {
+                break;
+            }
+            int b = dados[pos++];
+            int diferenca = b & 0x7F;
+            for (int deslocamento = 7; b < 0; deslocamento += 7) {
+                b = dados[pos++];
+                diferenca |= (b & 0x7F) << deslocamento;
+            }
+            atual += diferenca;
+        }
+        return primeira < 0 ? -1 : ((long) primeira << 32) | quantidade;
+    }
+}
@@ -9,6 +9,8 @@ public class Main {
     // Cria uma instância estática (global) da sua classe de algoritmos
     // 'static' significa que este objeto pertence à classe Main, e não a uma instância dela
     private static MeusAlgoritmosEmGrafos algoritmos = new MeusAlgoritmosEmGrafos();
+    // Grafos já carregados, para que recarregar o mesmo arquivo e representação não o leia de novo
+    private static CacheDeGrafos cache = new CacheDeGrafos();
     
     private static Scanner scanner = new Scanner(System.in);
     public static void main(String[] args) {
@@ -57,6 +59,9 @@ public class Main {
             System.out.println("1. Lista de Adjacência");
             System.out.println("2. Matriz de Adjacência");
             System.out.println("3. Matriz de Incidência");
+            System.out.println("4. CSR (Compressed Sparse Row)");
+            System.out.println("5. Matriz de Bits (apenas arestas de peso 1)");
+            System.out.println("6. Lista Comprimida (diferença + varint)");
             System.out.print("Opção [1]: ");
             
             String tipoInput = scanner.nextLine();
@@ -65,19 +70,28 @@ public class Main {
                 tipoInt = Integer.parseInt(tipoInput);
             }
 
-            // Converte o número (1, 2, 3) para o tipo Enum
+            // Converte o número (1 a 6) para o tipo Enum
             TipoDeRepresentacao tipo;
             switch (tipoInt) {
                 case 1: tipo = TipoDeRepresentacao.LISTA_DE_ADJACENCIA; break;
                 case 2: tipo = TipoDeRepresentacao.MATRIZ_DE_ADJACENCIA; break;
                 case 3: tipo = TipoDeRepresentacao.MATRIZ_DE_INCIDENCIA; break;
+                case 4: tipo = TipoDeRepresentacao.COMPRESSED_SPARSE_ROW; break;
+                case 5: tipo = TipoDeRepresentacao.MATRIZ_DE_BITS; break;
+                case 6: tipo = TipoDeRepresentacao.LISTA_COMPRIMIDA; break;
                 default:
                     System.out.println("Tipo inválido. Usando Lista de Adjacência (1).");
                     tipo = TipoDeRepresentacao.LISTA_DE_ADJACENCIA;
             }
 
-            // Chama o método da *sua* classe de algoritmos
-            Grafo g = algoritmos.carregarGrafo(path, tipo);
+            // Reaproveita o grafo do cache se o arquivo não mudou; senão chama o método da *sua* classe de algoritmos
+            Grafo g = cache.obter(path, tipo);
+            if (g != null) {
+                System.out.println(">>> Grafo reaproveitado do cache (arquivo não mudou).");
+            } else {
+                g = algoritmos.carregarGrafo(path, tipo);
+                cache.guardar(path, tipo, g);
+            }
             System.out.println(">>> Grafo carregado com " + g.numeroDeVertices() + " vértices e " + g.numeroDeArestas() + " arestas.");
             return g; // Retorna o grafo com sucesso
 
@@ -103,6 +117,7 @@ public class Main {
             System.out.println("5. Árvore Geradora Mínima (Kruskal)");
             System.out.println("6. Caminho Mínimo (Dijkstra)");
             System.out.println("7. Fluxo Máximo (Edmonds-Karp)");
+            System.out.println("8. Salvar Grafo em Formato Binário");
             System.out.println("----------------------------");
             System.out.println("9. Recarregar outro Grafo");
             System.out.println("0. Sair");
@@ -167,6 +182,12 @@ public class Main {
                         double fluxo = algoritmos.fluxoMaximo(g, sFluxo, tFluxo);
                         System.out.println(">>> Resultado: Fluxo Máximo = " + fluxo);
                         break;
+                    case 8: // Salvar em binário
+                        System.out.print("Digite o caminho do arquivo binário (ex: Teste.grb): ");
+                        String pathBinario = scanner.nextLine();
+                        algoritmos.salvarGrafoBinario(g, pathBinario);
+                        System.out.println(">>> Grafo salvo. Ele pode ser aberto pela opção de carregar, sem reprocessar o texto.");
+                        break;
                     case 9: // Recarregar
                         return false; // Sinaliza para o main() que deve recarregar
                     case 0: // Sair
@@ -34,6 +34,7 @@ public class MainFrame extends JFrame { // JFrame é a "Janela" principal
 
     // --- Variáveis de Lógica ---
     private MeusAlgoritmosEmGrafos algoritmos; // Sua classe de algoritmos
+    private CacheDeGrafos cache; // Grafos já carregados (recarregar o mesmo arquivo não o lê de novo)
     private Grafo grafoCarregado;             // O grafo que está na memória
 
     /**
@@ -43,6 +44,7 @@ public class MainFrame extends JFrame { // JFrame é a "Janela" principal
     public MainFrame() {
         // 1. Instancia sua classe de algoritmos (onde está o DFS, BFS, etc.)
         this.algoritmos = new MeusAlgoritmosEmGrafos();
+        this.cache = new CacheDeGrafos();
 
         // 2. Configura a janela principal
         setTitle("Trabalho Prático 2 - Algoritmos em Grafos");
@@ -157,7 +159,7 @@ public class MainFrame extends JFrame { // JFrame é a "Janela" principal
             File arquivo = seletor.getSelectedFile();
             
             // 2. Pergunta o tipo de representação (em um popup)
-            Object[] opcoes = {"Lista de Adjacência", "Matriz de Adjacência", "Matriz de Incidência"};
+            Object[] opcoes = {"Lista de Adjacência", "Matriz de Adjacência", "Matriz de Incidência", "CSR", "Matriz de Bits", "Lista Comprimida"};
             int n = JOptionPane.showOptionDialog(this,
                 "Como você quer armazenar este grafo?",
                 "Escolha a Representação",
@@ -170,15 +172,24 @@ public class MainFrame extends JFrame { // JFrame é a "Janela" principal
                 case 0: tipo = TipoDeRepresentacao.LISTA_DE_ADJACENCIA; break;
                 case 1: tipo = TipoDeRepresentacao.MATRIZ_DE_ADJACENCIA; break;
                 case 2: tipo = TipoDeRepresentacao.MATRIZ_DE_INCIDENCIA; break;
+                case 3: tipo = TipoDeRepresentacao.COMPRESSED_SPARSE_ROW; break;
+                case 4: tipo = TipoDeRepresentacao.MATRIZ_DE_BITS; break;
+                case 5: tipo = TipoDeRepresentacao.LISTA_COMPRIMIDA; break;
                 default: return; // Usuário fechou o popup (X)
             }
 
             // 3. Tenta carregar o grafo (chamando sua classe)
             try {
-                this.grafoCarregado = algoritmos.carregarGrafo(arquivo.getAbsolutePath(), tipo);
+                this.grafoCarregado = cache.obter(arquivo.getAbsolutePath(), tipo);
+                boolean doCache = grafoCarregado != null;
+                if (!doCache) {
+                    this.grafoCarregado = algoritmos.carregarGrafo(arquivo.getAbsolutePath(), tipo);
+                    cache.guardar(arquivo.getAbsolutePath(), tipo, grafoCarregado);
+                }
                 
                 // Sucesso!
-                areaResultados.setText(">>> Grafo carregado com sucesso!\n");
+                areaResultados.setText(doCache ? ">>> Grafo reaproveitado do cache (arquivo não mudou)!\n"
+                                               : ">>> Grafo carregado com sucesso!\n");
                 areaResultados.append("Arquivo: " + arquivo.getName() + "\n");
                 areaResultados.append("Representação: " + tipo.toString() + "\n");
                 areaResultados.append("Vértices: " + grafoCarregado.numeroDeVertices() + "\n");
@@ -0,0 +1,101 @@
+package grafos;
+
+import java.util.Arrays;
+
+/**
+ * Renumeração de IDs externos (long, esparsos) para IDs internos densos (0, 1, 2, ...)
+ * Tabela hash de endereçamento aberto em vetores primitivos (sem um Long por vértice):
+ * `chaves` guarda o ID externo e `valores` o ID interno + 1 (0 marca posição vazia)
+ * O caminho inverso (interno -> externo) é o vetor `ids`, na ordem em que os IDs apareceram
+ */
+class MapaDeIds {
+
+    private long[] chaves;
+    private int[] valores;
+    private long[] ids;
+    private int tamanho;
+
+    MapaDeIds() {
+        this.chaves = new long[1024];
+        this.valores = new int[1024];
+        this.ids = new long[512];
+        this.tamanho = 0;
+    }
+
+    /**
+     * Posição da tabela onde está (ou deveria estar) o ID
+     */
+    private int procurar(long id) {
+        int mascara = chaves.length - 1;
+        long h = id * 0x9E3779B97F4A7C15L;
+        int i = (int) (h ^ (h >>> 32)) & mascara;
+        while (valores[i] != 0 && chaves[i] != id) {
+            i = (i + 1) & mascara; // Sondagem linear
+        }
+        return i;
+    }
+
+    /**
+     * Retorna o ID interno do ID externo, criando o próximo ID interno se ele ainda não existir
+     */
+    int obterOuCriar(long id) {
+        int i = procurar(id);
+        if (valores[i] != 0) {
+            return valores[i] - 1;
+        }
+        if (tamanho == ids.length) {
+            ids = Arrays.copyOf(ids, tamanho * 2);
+        }
+        ids[tamanho] = id;
+        chaves[i] = id;
+        valores[i] = ++tamanho;
+        // Mantém a tabela no máximo 3/4 cheia
+        if (tamanho * 4L > chaves.length * 3L) {
+            redimensionar();
+        }
+        return tamanho - 1;
+    }
+
+    /**
+     * Retorna o ID interno do ID externo, ou -1 se ele não existe
+     */
+    int obter(long id) {
+        int i = procurar(id);
+        return valores[i] - 1;
+    }
+
+    /**
+     * Retorna o ID externo de um ID interno
+     */
+    long idOriginal(int interno) {
+        return ids[interno];
+    }
+
+    /**
+     * Número de IDs distintos
+     */
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Vetor com o ID externo de cada ID interno (sem folga)
+     */
+    long[] idsOriginais() {
+        return Arrays.copyOf(ids, tamanho);
+    }
+
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        chaves = new long[chavesAntigas.length * 2];
+        valores = new int[valoresAntigos.length * 2];
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (valoresAntigos[i] != 0) {
+                int j = procurar(chavesAntigas[i]);
+                chaves[j] = chavesAntigas[i];
+                valores[j] = valoresAntigos[i];
+            }
+        }
+    }
+}
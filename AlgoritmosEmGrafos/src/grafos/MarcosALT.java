@@ -0,0 +1,298 @@
+package grafos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Marcos (landmarks) da busca A* ALT: para cada marco L, as distâncias de L a todos os vértices
+ * e de todos os vértices até L, calculadas uma vez por grafo
+ * Pela desigualdade triangular, d(v, t) >= d(L, t) - d(L, v) e d(v, t) >= d(v, L) - d(t, L);
+ * o maior desses limites entre os marcos é a heurística do A* (limiteInferior), que é consistente,
+ * então a busca pode parar quando o destino sai da fila, como no Dijkstra
+ * * Os marcos são escolhidos pelo mais distante (em número de arestas) dos já escolhidos, com uma
+ * busca em largura por marco; as 2k buscas de Dijkstra (direta e reversa de cada marco) rodam
+ * em paralelo no ForkJoinPool comum
+ * As tabelas podem ser gravadas em arquivo (salvar) e lidas de volta para o mesmo grafo (carregar):
+ * int MAGICO, int VERSAO, int V, int A, int k, os k marcos e as tabelas (k x V doubles cada)
+ * * Um peso diminuído depois do pré-processamento pode fazer o limite superestimar a distância (e o A*
+ * errar o caminho), então as tabelas guardam o numeroDeModificacoes do grafo e deixam de servir
+ * para ele quando o grafo muda (servePara)
+ */
+class MarcosALT {
+
+    static final int MAGICO = 0x4D414C54;
+    static final int VERSAO = 1;
+
+    private int numVertices;
+    private int numArestas;
+    // numeroDeModificacoes do grafo quando as tabelas foram calculadas ou lidas
+    private long modificacoes;
+    private int[] marcos;
+    // distanciaDe[i][v] = d(marco i, v); distanciaAte[i][v] = d(v, marco i)
+    private double[][] distanciaDe;
+    private double[][] distanciaAte;
+
+    private MarcosALT(int numVertices, int numArestas, long modificacoes, int[] marcos, double[][] distanciaDe,
+            double[][] distanciaAte) {
+        this.numVertices = numVertices;
+        this.numArestas = numArestas;
+        this.modificacoes = modificacoes;
+        this.marcos = marcos;
+        this.distanciaDe = distanciaDe;
+        this.distanciaAte = distanciaAte;
+    }
+
+    /**
+     * Escolhe os marcos e calcula as tabelas
+     * @param g O grafo (pesos não negativos)
+     * @param k Número de marcos (limitado a V)
+     */
+    static MarcosALT preparar(Grafo g, int k) throws Exception {
+        int V = g.numeroDeVertices();
+        long modificacoes = g.numeroDeModificacoes();
+        // Confere os pesos aqui, e não dentro das tarefas (cujos erros chegariam embrulhados)
+        CaminhosMinimos.conferirPesos(g);
+        int[] marcos = escolherMarcos(g, Math.min(k, V));
+        k = marcos.length;
+        double[][] distanciaDe = new double[k][];
+        double[][] distanciaAte = new double[k][];
+
+        // Monta as estruturas preguiçosas do grafo (ex.: os vetores de entrada do CSR) antes das
+        // tarefas, que só fazem leituras
+        VisitanteDeArestas nada = (v, peso) -> false;
+        for (int u = 0; u < V; u++) {
+            g.percorrerAdjacentes(u, nada);
+            g.percorrerAntecessores(u, nada);
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        ArrayList<ForkJoinTask<double[]>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 2 * k; i++) {
+            final int marco = marcos[i / 2];
+            final boolean reverso = i % 2 == 1;
+            tarefas.add(pool.submit(() -> {
+                CaminhosMinimos busca = new CaminhosMinimos(g, -1, reverso);
+                busca.calcular(marco, -1);
+                double[] distancias = new double[V];
+                for (int v = 0; v < V; v++) {
+                    distancias[v] = busca.distancia(v);
+                }
+                return distancias;
+            }));
+        }
+        for (int i = 0; i < 2 * k; i++) {
+            try {
+                if (i % 2 == 0) {
+                    distanciaDe[i / 2] = tarefas.get(i).get();
+                } else {
+                    distanciaAte[i / 2] = tarefas.get(i).get();
+                }
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                throw causa instanceof Exception ? (Exception) causa : e;
+            }
+        }
+        return new MarcosALT(V, g.numeroDeArestas(), modificacoes, marcos, distanciaDe, distanciaAte);
+    }
+
+    /**
+     * Escolhe k marcos espalhados: o primeiro é o vértice mais distante (em arestas) do vértice 0,
+     * e cada próximo é o de maior distância até o marco mais próximo dele (os vértices que nenhum
+     * marco alcança vêm primeiro, para cobrir as outras componentes)
+     */
+    private static int[] escolherMarcos(Grafo g, int k) {
+        int V = g.numeroDeVertices();
+        int[] marcos = new int[k];
+        if (k == 0) {
+            return marcos;
+        }
+        int[] menorDistancia = new int[V];
+        int[] distancia = new int[V];
+        FilaDeInteiros fila = new FilaDeInteiros(V);
+
+        larguraEmArestas(g, 0, distancia, fila);
+        marcos[0] = maisDistante(distancia);
+        Arrays.fill(menorDistancia, Integer.MAX_VALUE);
+        for (int i = 0; i < k; i++) {
+            if (i > 0) {
+                marcos[i] = maisDistante(menorDistancia);
+            }
+            larguraEmArestas(g, marcos[i], distancia, fila);
+            for (int v = 0; v < V; v++) {
+                menorDistancia[v] = Math.min(menorDistancia[v], distancia[v]);
+            }
+        }
+        return marcos;
+    }
+
+    /**
+     * Busca em largura pelos adjacentes; distancia[v] é o número de arestas (MAX_VALUE se não alcançado)
+     */
+    private static void larguraEmArestas(Grafo g, int origem, int[] distancia, FilaDeInteiros fila) {
+        Arrays.fill(distancia, Integer.MAX_VALUE);
+        fila.limpar();
+        distancia[origem] = 0;
+        fila.adicionar(origem);
+        while (!fila.vazia()) {
+            int u = fila.remover();
+            int proxima = distancia[u] + 1;
+            g.percorrerAdjacentes(u, (v, peso) -> {
+                if (distancia[v] == Integer.MAX_VALUE) {
+                    distancia[v] = proxima;
+                    fila.adicionar(v);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Vértice de maior distância (o primeiro, no empate), sem repetir marcos (distância 0)
+     */
+    private static int maisDistante(int[] distancia) {
+        int melhor = 0;
+        for (int v = 1; v < distancia.length; v++) {
+            if (distancia[v] > distancia[melhor]) {
+                melhor = v;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Limite inferior para a distância de v até t pela desigualdade triangular
+     * @return O limite (0 sem marcos, infinito se t não é alcançável a partir de v)
+     */
+    double limiteInferior(int v, int t) {
+        double limite = 0;
+        for (int i = 0; i < marcos.length; i++) {
+            // Diferenças entre infinitos dão NaN e são ignoradas pelas comparações
+            double porDe = distanciaDe[i][t] - distanciaDe[i][v];
+            if (porDe > limite) {
+                limite = porDe;
+            }
+            double porAte = distanciaAte[i][v] - distanciaAte[i][t];
+            if (porAte > limite) {
+                limite = porAte;
+            }
+        }
+        return limite;
+    }
+
+    int numeroDeVertices() {
+        return numVertices;
+    }
+
+    int[] marcos() {
+        return marcos;
+    }
+
+    /**
+     * Verifica se as tabelas podem ser usadas com o grafo (mesmo número de vértices e de arestas,
+     * e nenhuma aresta adicionada ou peso alterado desde o pré-processamento)
+     */
+    boolean servePara(Grafo g) {
+        return numVertices == g.numeroDeVertices() && numArestas == g.numeroDeArestas()
+                && modificacoes == g.numeroDeModificacoes();
+    }
+
+    /**
+     * Grava as tabelas em arquivo
+     */
+    void salvar(String path) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGICO).putInt(VERSAO).putInt(numVertices).putInt(numArestas).putInt(marcos.length);
+            for (int marco : marcos) {
+                if (buffer.remaining() < 4) {
+                    descarregar(canal, buffer);
+                }
+                buffer.putInt(marco);
+            }
+            for (double[][] tabela : new double[][][] {distanciaDe, distanciaAte}) {
+                for (double[] distancias : tabela) {
+                    for (double d : distancias) {
+                        if (buffer.remaining() < 8) {
+                            descarregar(canal, buffer);
+                        }
+                        buffer.putDouble(d);
+                    }
+                }
+            }
+            descarregar(canal, buffer);
+        }
+    }
+
+    /**
+     * Lê as tabelas gravadas por salvar
+     * @param g O grafo a que elas pertencem
+     * @throws Exception Se o arquivo não for de marcos ou for de outro grafo
+     */
+    static MarcosALT carregar(String path, Grafo g) throws Exception {
+        try (FileChannel canal = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.limit(0);
+            garantir(canal, buffer, 20);
+            if (buffer.getInt() != MAGICO || buffer.getInt() != VERSAO) {
+                throw new Exception("O arquivo não contém tabelas de marcos: " + path);
+            }
+            int V = buffer.getInt();
+            int A = buffer.getInt();
+            int k = buffer.getInt();
+            if (V != g.numeroDeVertices() || A != g.numeroDeArestas()) {
+                throw new Exception("As tabelas de marcos são de um grafo com " + V + " vértices e " + A
+                        + " arestas, e não " + g.numeroDeVertices() + " e " + g.numeroDeArestas() + ".");
+            }
+            int[] marcos = new int[k];
+            for (int i = 0; i < k; i++) {
+                garantir(canal, buffer, 4);
+                marcos[i] = buffer.getInt();
+            }
+            double[][] distanciaDe = new double[k][V];
+            double[][] distanciaAte = new double[k][V];
+            for (double[][] tabela : new double[][][] {distanciaDe, distanciaAte}) {
+                for (double[] distancias : tabela) {
+                    for (int v = 0; v < V; v++) {
+                        garantir(canal, buffer, 8);
+                        distancias[v] = buffer.getDouble();
+                    }
+                }
+            }
+            return new MarcosALT(V, A, g.numeroDeModificacoes(), marcos, distanciaDe, distanciaAte);
+        }
+    }
+
+    private static void descarregar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Garante 'n' bytes não lidos no buffer, lendo mais do arquivo se necessário
+     */
+    private static void garantir(FileChannel canal, ByteBuffer buffer, int n) throws Exception {
+        if (buffer.remaining() >= n) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < n) {
+            if (canal.read(buffer) < 0) {
+                throw new Exception("Arquivo de marcos incompleto.");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -1,9 +1,21 @@
 package grafos;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Implementação principal da interface AlgoritmosEmGrafos
@@ -11,88 +23,323 @@ import java.util.Comparator;
  */
 public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
 
+    // Limites do tamanho (em bytes) dos blocos da leitura em paralelo
+    private static final long TAMANHO_MINIMO_BLOCO = 1 << 20;
+    private static final long TAMANHO_MAXIMO_BLOCO = 1 << 28;
+
+    // ID original de cada vértice do último carregarGrafoComIdsEsparsos
+    private long[] idsOriginais;
+    // Maior peso dos grafos carregados cujos pesos são todos inteiros não negativos (ver caminhoMinimo)
+    private WeakHashMap<Grafo, Integer> maioresPesosInteiros = new WeakHashMap<>();
+
     /*****************************************************************/
     // Carregamento do grafo
     /**
      * Carrega um grafo a partir de um arquivo de texto.
+     * O arquivo é lido em blocos de bytes pelo AnalisadorDeGrafo, sem guardar o arquivo em memória nem criar
+     * Strings por aresta. Para as representações que crescem com as arestas, o arquivo é lido duas vezes:
+     * a primeira só conta os graus e a segunda coloca as arestas em estruturas já no tamanho final (ConstrutorDeGrafo)
+     * Além do formato do trabalho, aceita lista de arestas, DIMACS (.gr) e Matrix Market (.mtx), detectados
+     * pela extensão ou pelo cabeçalho (ver FormatoDeGrafo). Na lista de arestas, que não informa o número
+     * de vértices, uma passada a mais encontra o maior ID
+     * Arquivos gzip são descompactados uma única vez, para um arquivo temporário (apagado no fim da carga) que
+     * as passadas leem; para carregar o mesmo arquivo muitas vezes, compensa gravá-lo no formato binário
+     * Se o arquivo estiver no formato binário (gravado por salvarGrafoBinario), ele é apenas mapeado
+     * em memória e o grafo retornado é um GrafoMapeado somente leitura, qualquer que seja o tipo pedido
      * @param path O caminho para o arquivo .txt.
-     * @param t O TipoDeRepresentacao (Lista, Matriz Adj, Matriz Inc)
+     * @param t O TipoDeRepresentacao (Lista, Matriz Adj, Matriz Inc, CSR, Matriz de Bits, Lista Comprimida)
      * @return Um objeto Grafo preenchido.
      * @throws Exception Se o arquivo não for encontrado ou estiver mal formatado.
      */
     @Override
     public Grafo carregarGrafo(String path, TipoDeRepresentacao t) throws Exception {
-        // Usa o FileManager para ler o arquivo
+        return carregar(path, t, null);
+    }
+
+    /**
+     * Carrega um grafo cujos IDs de vértice são esparsos ou grandes (até 64 bits), como os de redes
+     * sociais e mapas, que carregarGrafo só aceitaria criando um vértice para cada ID até o maior
+     * Os IDs são renumerados para 0..n-1 na ordem em que aparecem no arquivo (uma passada a mais,
+     * que monta o MapaDeIds), e o número de vértices é o de IDs distintos (o do cabeçalho é ignorado)
+     * O ID original de cada vértice fica disponível em getIdsOriginais()
+     * @param path O caminho para o arquivo (qualquer formato aceito por carregarGrafo)
+     * @param t O TipoDeRepresentacao
+     * @return Um objeto Grafo preenchido, com IDs renumerados
+     * @throws Exception Se o arquivo não for encontrado ou estiver mal formatado.
+     */
+    public Grafo carregarGrafoComIdsEsparsos(String path, TipoDeRepresentacao t) throws Exception {
+        MapaDeIds mapa = new MapaDeIds();
+        Grafo g = carregar(path, t, mapa);
+        this.idsOriginais = mapa.idsOriginais();
+        return g;
+    }
+
+    /**
+     * Carregamento comum a carregarGrafo e carregarGrafoComIdsEsparsos
+     * @param mapa Renumeração dos IDs (nulo para usar os IDs do arquivo)
+     */
+    private Grafo carregar(String path, TipoDeRepresentacao t, MapaDeIds mapa) throws Exception {
+        // Usa o FileManager para abrir o arquivo
         FileManager fm = new FileManager();
-        ArrayList<String> lines = fm.stringReader(path);
+        if (fm.isBinaryGraph(path)) {
+            GrafoMapeado g = new GrafoMapeado(path);
+            // O formato binário já tem IDs densos: a renumeração é a identidade
+            for (int i = 0; mapa != null && i < g.numeroDeVertices(); i++) {
+                mapa.obterOuCriar(i);
+            }
+            return g;
+        }
+        FormatoDeGrafo formato = FormatoDeGrafo.detectar(path);
+        if (fm.isGzip(path)) {
+            // Descompacta uma vez só: as 2 ou 3 passadas leem o arquivo descompactado
+            Path descompactado = fm.descompactar(path);
+            try {
+                return carregarPassadas(fm, descompactado.toString(), formato, t, mapa);
+            } finally {
+                Files.deleteIfExists(descompactado);
+            }
+        }
+        return carregarPassadas(fm, path, formato, t, mapa);
+    }
 
-        if (lines == null || lines.isEmpty()) {
-            throw new Exception("Arquivo vazio ou não encontrado.");
+    /**
+     * Lê o arquivo (já descompactado) nas passadas do carregamento: número de vértices, graus e arestas
+     */
+    private Grafo carregarPassadas(FileManager fm, String path, FormatoDeGrafo formato, TipoDeRepresentacao t,
+            MapaDeIds mapa) throws Exception {
+        // Número de vértices (pelo cabeçalho, pelo maior ID ou pelos IDs distintos)
+        int V = lerArquivo(fm, path, formato, null, mapa);
+        if (mapa != null) {
+            lerArquivo(fm, path, formato, (origem, destino, peso) -> { }, mapa);
+            V = mapa.tamanho();
+        } else if (V < 0 || formato == FormatoDeGrafo.LISTA_DE_ARESTAS) {
+            // Na lista de arestas, o "# Nodes: N" do cabeçalho é só um mínimo (IDs maiores aumentam V)
+            int[] maiorId = {Math.max(V, 0) - 1};
+            lerArquivo(fm, path, formato, (origem, destino, peso) -> maiorId[0] = Math.max(maiorId[0], Math.max(origem, destino)), null);
+            V = maiorId[0] + 1;
+        }
+
+        ConstrutorDeGrafo construtor = new ConstrutorDeGrafo(criarVertices(V), t);
+        // Primeira passada: os graus, se a representação precisar
+        if (construtor.precisaContar()) {
+            lerArquivo(fm, path, formato, construtor.contador(), mapa);
         }
+        // Segunda passada: as arestas vão direto para as estruturas já dimensionadas
+        construtor.preparar();
+        lerArquivo(fm, path, formato, construtor, mapa);
+        return registrarPesos(construtor.construir(), construtor.maiorPesoInteiro());
+    }
 
-        // Lê a primeira linha (número de vértices)
-        int V = Integer.parseInt(lines.get(0).trim());
-        lines.remove(0); // Remove a linha lida
+    /**
+     * Guarda o maior peso de um grafo carregado, se todos os pesos forem inteiros não negativos
+     * (nesse caso o caminhoMinimo usa a fila de baldes em vez do heap)
+     * @param maiorPesoInteiro O maior peso, ou -1 se algum peso for fracionário ou negativo
+     * @return O próprio grafo
+     */
+    private Grafo registrarPesos(Grafo g, int maiorPesoInteiro) {
+        if (maiorPesoInteiro >= 0) {
+            maioresPesosInteiros.put(g, maiorPesoInteiro);
+        }
+        return g;
+    }
+
+    /**
+     * Lê o arquivo do início, passando as arestas ao receptor
+     * @param receptor Recebe as arestas (se nulo, apenas o cabeçalho é lido)
+     * @param mapa Renumeração dos IDs (nulo para usar os IDs do arquivo)
+     * @return O número de vértices do cabeçalho, ou -1 se o formato não o informa
+     */
+    private static int lerArquivo(FileManager fm, String path, FormatoDeGrafo formato, ReceptorDeArestas receptor,
+            MapaDeIds mapa) throws Exception {
+        InputStream entrada = fm.inputStream(path);
+        if (entrada == null) {
+            throw new Exception("Arquivo vazio ou não encontrado.");
+        }
+        try {
+            AnalisadorDeGrafo analisador = new AnalisadorDeGrafo(entrada, formato);
+            analisador.usarMapaDeIds(mapa);
+            int V = analisador.lerNumeroDeVertices();
+            if (receptor != null) {
+                analisador.lerArestas(receptor);
+            }
+            return V;
+        } finally {
+            entrada.close();
+        }
+    }
 
-        //Cria os Vértices (com IDs 0 a V-1)
+    /**
+     * Cria os Vértices (com IDs 0 a V-1)
+     */
+    private static ArrayList<Vertice> criarVertices(int V) {
         ArrayList<Vertice> vertices = new ArrayList<>(V);
         for (int i = 0; i < V; i++) {
             vertices.add(new Vertice(i));
         }
+        return vertices;
+    }
 
-        // Instancia a implementação de Grafo correta
-        Grafo g;
-        switch (t) {
-            case MATRIZ_DE_ADJACENCIA:
-                g = new GrafoMatrizAdjacencia(vertices);
-                break;
-            case LISTA_DE_ADJACENCIA:
-                g = new GrafoListaAdjacencia(vertices);
-                break;
-            case MATRIZ_DE_INCIDENCIA:
-                g = new GrafoMatrizIncidencia(vertices);
-                break;
-            default:
-                throw new Exception("Tipo de representação desconhecido.");
+    /**
+     * Carrega um grafo no formato do trabalho, lendo o arquivo em paralelo
+     * O arquivo é mapeado em memória e dividido em blocos que terminam em quebras de linha;
+     * cada bloco é lido por uma tarefa do ForkJoinPool comum, que guarda suas arestas em vetores próprios.
+     * Depois as arestas dos blocos são contadas e passadas ao ConstrutorDeGrafo na ordem do arquivo, o que dá
+     * o mesmo resultado de carregarGrafo (mas guarda todas as arestas em vetores antes de montar o grafo)
+     * @param path O caminho para o arquivo .txt.
+     * @param t O TipoDeRepresentacao
+     * @return Um objeto Grafo preenchido.
+     * @throws Exception Se o arquivo não for encontrado ou estiver mal formatado.
+     */
+    public Grafo carregarGrafoEmParalelo(String path, TipoDeRepresentacao t) throws Exception {
+        if (!Files.isRegularFile(Paths.get(path))) {
+            throw new Exception("Arquivo vazio ou não encontrado.");
         }
-
-        // Itera pelo resto das linhas para criar as arestas
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                continue; // Pula linhas em branco
+        // Os demais formatos, o binário e os arquivos gzip (que não podem ser mapeados) são lidos por carregarGrafo
+        FileManager fm = new FileManager();
+        if (fm.isBinaryGraph(path) || fm.isGzip(path) || FormatoDeGrafo.detectar(path) != FormatoDeGrafo.TEXTO) {
+            return carregarGrafo(path, t);
+        }
+        try (FileChannel canal = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho == 0) {
+                throw new Exception("Arquivo vazio ou não encontrado.");
             }
-            
-            // Formato: "0 0-40; 1-50;"
-            String[] parts = line.split(" ", 2); 
-            if (parts.length < 2) {
-                continue; 
+
+            // Lê a primeira linha (número de vértices)
+            long fimCabecalho = proximaQuebraDeLinha(canal, 0);
+            int V = new AnalisadorDeGrafo(canal.map(FileChannel.MapMode.READ_ONLY, 0, fimCabecalho), 1).lerNumeroDeVertices();
+            ConstrutorDeGrafo construtor = new ConstrutorDeGrafo(criarVertices(V), t);
+
+            // Alguns blocos por núcleo equilibram a carga; nenhum bloco passa de TAMANHO_MAXIMO_BLOCO
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            long restante = tamanho - fimCabecalho;
+            long numBlocos = Math.min(pool.getParallelism() * 4L, restante / TAMANHO_MINIMO_BLOCO + 1);
+            numBlocos = Math.max(numBlocos, (restante + TAMANHO_MAXIMO_BLOCO - 1) / TAMANHO_MAXIMO_BLOCO);
+
+            ArrayList<ForkJoinTask<ArestasLidas>> tarefas = new ArrayList<>();
+            long inicio = fimCabecalho;
+            for (long k = 1; k <= numBlocos && inicio < tamanho; k++) {
+                long fim = k == numBlocos ? tamanho
+                        : proximaQuebraDeLinha(canal, Math.max(inicio, fimCabecalho + restante * k / numBlocos));
+                final long inicioBloco = inicio;
+                final long tamanhoBloco = fim - inicio;
+                tarefas.add(pool.submit(() -> lerBloco(canal, inicioBloco, tamanhoBloco)));
+                inicio = fim;
             }
 
-            Vertice origem = vertices.get(Integer.parseInt(parts[0].trim()));
-            String arestasStr = parts[1].trim(); // "0-40; 1-50;"
+            // Espera todos os blocos, contando os graus se a representação precisar
+            ArrayList<ArestasLidas> blocos = new ArrayList<>(tarefas.size());
+            for (ForkJoinTask<ArestasLidas> tarefa : tarefas) {
+                ArestasLidas lidas;
+                try {
+                    lidas = tarefa.get();
+                } catch (ExecutionException e) {
+                    Throwable causa = e.getCause();
+                    throw causa instanceof Exception ? (Exception) causa : e;
+                }
+                if (lidas.erro != null) {
+                    throw lidas.erro;
+                }
+                blocos.add(lidas);
+            }
+            if (construtor.precisaContar()) {
+                ReceptorDeArestas contador = construtor.contador();
+                for (ArestasLidas lidas : blocos) {
+                    for (int i = 0; i < lidas.quantidade; i++) {
+                        contador.receber(lidas.origens[i], lidas.destinos[i], lidas.pesos[i]);
+                    }
+                }
+            }
 
-            // Separa as arestas
-            String[] arestasArray = arestasStr.split(";"); 
-            
-            for (String arestaInfo : arestasArray) {
-                if (arestaInfo.trim().isEmpty()) {
-                    continue;
+            // Junta os blocos na ordem do arquivo
+            construtor.preparar();
+            for (int b = 0; b < blocos.size(); b++) {
+                ArestasLidas lidas = blocos.get(b);
+                for (int i = 0; i < lidas.quantidade; i++) {
+                    construtor.receber(lidas.origens[i], lidas.destinos[i], lidas.pesos[i]);
                 }
-                // Formato: "0-40"
-                String[] arestaDetalhe = arestaInfo.trim().split("-"); 
-                if (arestaDetalhe.length < 2) {
-                    continue;
+                blocos.set(b, null); // Libera o bloco já incorporado
+            }
+            return registrarPesos(construtor.construir(), construtor.maiorPesoInteiro());
+        }
+    }
+
+    /**
+     * Lê as arestas de um bloco do arquivo (que começa no início de uma linha)
+     * Um erro de leitura volta em lidas.erro, e não lançado: o pool embrulharia a exceção
+     * verificada em uma ou mais RuntimeException (depende da versão do Java)
+     */
+    private static ArestasLidas lerBloco(FileChannel canal, long inicio, long tamanho) {
+        ArestasLidas lidas = new ArestasLidas();
+        try {
+            new AnalisadorDeGrafo(canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanho), 0).lerArestas(lidas);
+        } catch (Exception e) {
+            lidas.erro = e;
+            try {
+                // Só agora conta as linhas anteriores ao bloco, para que a mensagem indique a linha certa
+                new AnalisadorDeGrafo(canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanho), contarLinhas(canal, inicio) + 1)
+                        .lerArestas((origem, destino, peso) -> { });
+            } catch (Exception comLinha) {
+                lidas.erro = comLinha;
+            }
+        }
+        return lidas;
+    }
+
+    /**
+     * Posição logo depois da primeira quebra de linha a partir de 'pos' (ou o tamanho do arquivo)
+     */
+    private static long proximaQuebraDeLinha(FileChannel canal, long pos) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (true) {
+            buffer.clear();
+            int lidos = canal.read(buffer, pos);
+            if (lidos <= 0) {
+                return canal.size();
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
                 }
+            }
+            pos += lidos;
+        }
+    }
 
-                Vertice destino = vertices.get(Integer.parseInt(arestaDetalhe[0].trim()));
-                double peso = Double.parseDouble(arestaDetalhe[1].trim());
+    /**
+     * Número de quebras de linha antes da posição 'fim'
+     */
+    private static int contarLinhas(FileChannel canal, long fim) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        int linhas = 0;
+        for (long pos = 0; pos < fim; ) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), fim - pos));
+            int lidos = canal.read(buffer, pos);
+            if (lidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (buffer.get(i) == '\n') {
+                    linhas++;
+                }
+            }
+            pos += lidos;
+        }
+        return linhas;
+    }
 
-                g.adicionarAresta(origem, destino, peso);
-            } 
+    /**
+     * Salva o grafo no formato binário, que carregarGrafo abre sem interpretar texto
+     * @param g O grafo (de qualquer representação)
+     * @param path O caminho do arquivo a ser criado
+     * @throws Exception Se não for possível gravar o arquivo
+     */
+    public void salvarGrafoBinario(Grafo g, String path) throws Exception {
+        FileManager fm = new FileManager();
+        if (!fm.binaryGraphWriter(g, path)) {
+            throw new Exception("Não foi possível gravar o arquivo " + path + ".");
         }
-        
-        return g;
-        
     }
 
     /*****************************************************************/
@@ -153,35 +400,31 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
      * Método auxiliar recursivo do DFS
      */
     private void dfsVisit(Vertice u, Grafo g){
-        try{
-            cor[u.id()] = Cor.CINZA;
-            tempo += 1;
-            d[u.id()] = tempo;
-
-            for (Vertice v : g.adjacentesDe(u)) {
-                
-                Aresta a = g.arestasEntre(u, v).get(0); 
-
-                if (cor[v.id()] == Cor.BRANCO) {
-                    // (É uma Aresta de Árvore)
-                    pai[v.id()] = u;
-                    arestasArvore.add(a);
-                    dfsVisit(v, g);
-                } else if (cor[v.id()] == Cor.CINZA) {
-                    // (É uma Aresta de Retorno - achou um ciclo)
-                    arestasRetorno.add(a);
-                } else if (cor[v.id()] == Cor.PRETO) {
-                    // (É Aresta de Avanço or Cruzamento)
-                    if (d[u.id()] < d[v.id()]) {
-                        arestasAvanco.add(a);
-                    } else {
-                        arestasCruzamento.add(a);
-                    }
+        cor[u.id()] = Cor.CINZA;
+        tempo += 1;
+        d[u.id()] = tempo;
+
+        ArrayList<Vertice> vertices = g.vertices();
+        // Cada aresta chega como (id do destino, peso); o objeto Aresta só é criado para os resultados
+        g.percorrerAdjacentes(u.id(), (v, peso) -> {
+            if (cor[v] == Cor.BRANCO) {
+                // (É uma Aresta de Árvore)
+                pai[v] = u;
+                arestasArvore.add(new Aresta(u, vertices.get(v), peso));
+                dfsVisit(vertices.get(v), g);
+            } else if (cor[v] == Cor.CINZA) {
+                // (É uma Aresta de Retorno - achou um ciclo)
+                arestasRetorno.add(new Aresta(u, vertices.get(v), peso));
+            } else if (cor[v] == Cor.PRETO) {
+                // (É Aresta de Avanço or Cruzamento)
+                if (d[u.id()] < d[v]) {
+                    arestasAvanco.add(new Aresta(u, vertices.get(v), peso));
+                } else {
+                    arestasCruzamento.add(new Aresta(u, vertices.get(v), peso));
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+            return true;
+        });
         cor[u.id()] = Cor.PRETO;
         tempo++;
         f[u.id()] = tempo;
@@ -230,47 +473,85 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
 
     @Override
     public Collection<Aresta> buscaEmLargura (Grafo g, Vertice s){
-        try{
-            int V = g.numeroDeVertices();
-
-            // Inicializa os arrays de controle
-            corBFS = new Cor[V];
-            dBFS = new int[V];
-            paiBFS = new Vertice[V];
-            arestasArvoreBFS = new ArrayList<>();
-            
-            ArrayList<Vertice> vertices = g.vertices();
-            for(Vertice u : vertices){
-                corBFS[u.id()] = Cor.BRANCO;
-                paiBFS[u.id()] = null;
-                dBFS[u.id()] = Integer.MAX_VALUE; // "Infinito"
-            }
-            
-            corBFS[s.id()] = Cor.CINZA;
-            dBFS[s.id()] = 0;
+        int V = g.numeroDeVertices();
 
-            ArrayList<Vertice> Q = new ArrayList<>();
-            
-            Q.add(s);
-
-            while (!Q.isEmpty()) {
-                Vertice u = Q.remove(0);
-                for(Vertice v : g.adjacentesDe(u)){
-                    if (corBFS[v.id()] == Cor.BRANCO) {
-                        corBFS[v.id()] = Cor.CINZA;
-                        dBFS[v.id()] = dBFS[u.id()] + 1;
-                        paiBFS[v.id()] = u;
-                        Q.add(v);
-                        arestasArvoreBFS.add(g.arestasEntre(u, v).get(0));
-                    }
+        // Inicializa os arrays de controle
+        corBFS = new Cor[V];
+        dBFS = new int[V];
+        paiBFS = new Vertice[V];
+        arestasArvoreBFS = new ArrayList<>();
+        
+        ArrayList<Vertice> vertices = g.vertices();
+        for(Vertice u : vertices){
+            corBFS[u.id()] = Cor.BRANCO;
+            paiBFS[u.id()] = null;
+            dBFS[u.id()] = Integer.MAX_VALUE; // "Infinito"
+        }
+        
+        corBFS[s.id()] = Cor.CINZA;
+        dBFS[s.id()] = 0;
+
+        if (g instanceof GrafoMatrizBits) {
+            larguraPorBits((GrafoMatrizBits) g, s);
+            return arestasArvoreBFS;
+        }
+
+        FilaDeInteiros Q = new FilaDeInteiros(V);
+        
+        Q.adicionar(s.id());
+
+        while (!Q.vazia()) {
+            Vertice u = vertices.get(Q.remover());
+            g.percorrerAdjacentes(u.id(), (v, peso) -> {
+                if (corBFS[v] == Cor.BRANCO) {
+                    corBFS[v] = Cor.CINZA;
+                    dBFS[v] = dBFS[u.id()] + 1;
+                    paiBFS[v] = u;
+                    Q.adicionar(v);
+                    arestasArvoreBFS.add(new Aresta(u, vertices.get(v), peso));
                 }
-                corBFS[u.id()] = Cor.PRETO;
-            }
-        } catch (Exception e){
-            e.printStackTrace();
+                return true;
+            });
+            corBFS[u.id()] = Cor.PRETO;
         }
         return arestasArvoreBFS;
     }
+
+    /**
+     * HELPER do BFS para a matriz de bits: a cada vértice retirado da fila, os seus destinos ainda
+     * não visitados são obtidos 64 por vez (palavra da linha AND NOT visitados)
+     * Os vértices são descobertos na mesma ordem do BFS comum, então o resultado é o mesmo
+     */
+    private void larguraPorBits(GrafoMatrizBits g, Vertice s) {
+        int palavras = g.palavrasPorLinha();
+        ArrayList<Vertice> vertices = g.vertices();
+        long[] visitados = new long[palavras];
+        visitados[s.id() >>> 6] |= 1L << s.id();
+
+        FilaDeInteiros Q = new FilaDeInteiros(g.numeroDeVertices());
+        Q.adicionar(s.id());
+
+        while (!Q.vazia()) {
+            int u = Q.remover();
+            for (int w = 0; w < palavras; w++) {
+                long novos = g.palavra(u, w) & ~visitados[w];
+                if (novos == 0) {
+                    continue;
+                }
+                visitados[w] |= novos;
+                while (novos != 0) {
+                    int v = (w << 6) + Long.numberOfTrailingZeros(novos);
+                    corBFS[v] = Cor.CINZA;
+                    dBFS[v] = dBFS[u] + 1;
+                    paiBFS[v] = vertices.get(u);
+                    Q.adicionar(v);
+                    arestasArvoreBFS.add(new Aresta(vertices.get(u), vertices.get(v)));
+                    novos &= novos - 1;
+                }
+            }
+            corBFS[u] = Cor.PRETO;
+        }
+    }
     
     /*****************************************************************/
     // Seção: Algoritmos de Conectividade
@@ -281,6 +562,9 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
      */
     @Override
     public boolean existeCiclo(Grafo g){
+        if (g instanceof GrafoMatrizBits) {
+            return existeCicloPorBits((GrafoMatrizBits) g);
+        }
         // Roda o DFS (se não foi rodado) e pega a lista de Arestas de Retorno
         if (arestasRetorno == null){
             buscaEmProfundidade(g);
@@ -288,6 +572,62 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
         // Se a lista não está vazia, há um ciclo
         return !arestasRetorno.isEmpty();
     }
+
+    /**
+     * HELPER do existeCiclo para a matriz de bits: DFS iterativo com os conjuntos BRANCO e CINZA em bits
+     * Quando 'u' está no topo da pilha, (linha de u AND cinza) != 0 indica uma aresta de retorno,
+     * e (linha de u AND branco) dá o próximo filho, ambos testando 64 vértices por operação
+     */
+    private boolean existeCicloPorBits(GrafoMatrizBits g) {
+        int V = g.numeroDeVertices();
+        int palavras = g.palavrasPorLinha();
+        long[] brancos = new long[palavras];
+        long[] cinzas = new long[palavras];
+        for (int v = 0; v < V; v++) {
+            brancos[v >>> 6] |= 1L << v;
+        }
+
+        int[] pilha = new int[V];
+        // Palavra da linha a partir da qual ainda pode haver filho branco
+        int[] cursor = new int[V];
+
+        for (int raiz = 0; raiz < V; raiz++) {
+            if ((brancos[raiz >>> 6] & (1L << raiz)) == 0) {
+                continue;
+            }
+            int topo = 0;
+            pilha[0] = raiz;
+            brancos[raiz >>> 6] &= ~(1L << raiz);
+            cinzas[raiz >>> 6] |= 1L << raiz;
+
+            while (topo >= 0) {
+                int u = pilha[topo];
+                int filho = -1;
+                for (int w = 0; w < palavras; w++) {
+                    if ((g.palavra(u, w) & cinzas[w]) != 0) {
+                        return true; // Aresta de retorno (inclui loops)
+                    }
+                }
+                for (; cursor[u] < palavras; cursor[u]++) {
+                    long candidatos = g.palavra(u, cursor[u]) & brancos[cursor[u]];
+                    if (candidatos != 0) {
+                        filho = (cursor[u] << 6) + Long.numberOfTrailingZeros(candidatos);
+                        break;
+                    }
+                }
+
+                if (filho >= 0) {
+                    brancos[filho >>> 6] &= ~(1L << filho);
+                    cinzas[filho >>> 6] |= 1L << filho;
+                    pilha[++topo] = filho;
+                } else {
+                    cinzas[u >>> 6] &= ~(1L << u); // u fica PRETO
+                    topo--;
+                }
+            }
+        }
+        return false;
+    }
     
 
     // Variável de membro para o resultado do SCC (para o 'getter')
@@ -302,7 +642,8 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
     public Grafo componentesFortementeConexos(Grafo g) {
         try {
             buscaEmProfundidade(g); 
-            Grafo gT = g.criarGrafoTransposto();
+            // Visão transposta: percorre as arestas ao contrário sem copiar o grafo
+            Grafo gT = new GrafoTransposto(g);
 
             ArrayList<Vertice> verticesOrdenados = new ArrayList<>(g.vertices());
             int V = verticesOrdenados.size();
@@ -335,18 +676,40 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
             }
             
             Grafo gReduzido = new GrafoListaAdjacencia(verticesReduzidos);
-            ArrayList<String> arestasReduzidasAdicionadas = new ArrayList<>();
-
-            for (Vertice u : g.vertices()) {
-                for (Vertice v : g.adjacentesDe(u)) {
-                    int sccU = this.sccMap[u.id()];
-                    int sccV = this.sccMap[v.id()];
-                    String arestaStr = sccU + "->" + sccV;
-                    
-                    if (sccU != sccV && !arestasReduzidasAdicionadas.contains(arestaStr)) {
-                        gReduzido.adicionarAresta(verticesReduzidos.get(sccU), verticesReduzidos.get(sccV));
-                        arestasReduzidasAdicionadas.add(arestaStr);
-                    }
+
+            // Agrupa os vértices por componente (counting sort, mantendo a ordem dos IDs)
+            int[] inicioComponente = new int[numSCC + 1];
+            for (int i = 0; i < V; i++) {
+                inicioComponente[sccMap[i] + 1]++;
+            }
+            for (int c = 0; c < numSCC; c++) {
+                inicioComponente[c + 1] += inicioComponente[c];
+            }
+            int[] proxima = Arrays.copyOf(inicioComponente, numSCC);
+            int[] verticesPorComponente = new int[V];
+            for (int i = 0; i < V; i++) {
+                verticesPorComponente[proxima[sccMap[i]]++] = i;
+            }
+
+            // marca[c2] == c indica que a aresta reduzida (c, c2) já foi adicionada
+            int[] marca = new int[numSCC];
+            Arrays.fill(marca, -1);
+            FilaDeInteiros destinosReduzidos = new FilaDeInteiros(numSCC);
+            for (int c = 0; c < numSCC; c++) {
+                final int sccU = c;
+                destinosReduzidos.limpar();
+                for (int i = inicioComponente[c]; i < inicioComponente[c + 1]; i++) {
+                    g.percorrerAdjacentes(verticesPorComponente[i], (v, peso) -> {
+                        int sccV = this.sccMap[v];
+                        if (sccU != sccV && marca[sccV] != sccU) {
+                            marca[sccV] = sccU;
+                            destinosReduzidos.adicionar(sccV);
+                        }
+                        return true;
+                    });
+                }
+                while (!destinosReduzidos.vazia()) {
+                    gReduzido.adicionarAresta(verticesReduzidos.get(sccU), verticesReduzidos.get(destinosReduzidos.remover()));
                 }
             }
             return gReduzido;
@@ -359,17 +722,16 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
     
     // HELPER do SCC: DFS-VISIT modificado para o G^T
     private void dfsVisitSCC(Grafo gT, Vertice u, Cor[] cor, int sccId) {
-        try {
-            cor[u.id()] = Cor.CINZA;
-            this.sccMap[u.id()] = sccId; // Salva o ID do SCC no mapa de membro
-            
-            for (Vertice v : gT.adjacentesDe(u)) {
-                if (cor[v.id()] == Cor.BRANCO) {
-                    dfsVisitSCC(gT, v, cor, sccId);
-                }
+        cor[u.id()] = Cor.CINZA;
+        this.sccMap[u.id()] = sccId; // Salva o ID do SCC no mapa de membro
+        
+        gT.percorrerAdjacentes(u.id(), (v, peso) -> {
+            if (cor[v] == Cor.BRANCO) {
+                dfsVisitSCC(gT, gT.vertices().get(v), cor, sccId);
             }
-            cor[u.id()] = Cor.PRETO;
-        } catch (Exception e) { e.printStackTrace(); }
+            return true;
+        });
+        cor[u.id()] = Cor.PRETO;
     }
     
 
@@ -424,14 +786,14 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
      * HELPER do Kruskal: Pega todas as arestas do grafo, incluindo paralelas
      */
     private ArrayList<Aresta> obterTodasArestas(Grafo g) {
-        ArrayList<Aresta> todasArestas = new ArrayList<>();
-        try {
-            for (Vertice u : g.vertices()) {
-                for (Vertice v : g.adjacentesDe(u)) {
-                    todasArestas.addAll(g.arestasEntre(u, v));
-                }
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+        ArrayList<Aresta> todasArestas = new ArrayList<>(g.numeroDeArestas());
+        ArrayList<Vertice> vertices = g.vertices();
+        for (Vertice u : vertices) {
+            g.percorrerAdjacentes(u.id(), (v, peso) -> {
+                todasArestas.add(new Aresta(u, vertices.get(v), peso));
+                return true;
+            });
+        }
         return todasArestas;
     }
 
@@ -462,120 +824,176 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
     /*****************************************************************/
     // Seção: Caminho Mínimo (Dijkstra)
     
-    // Variáveis de membro para o Dijkstra
-    private Vertice[] paiC;
-    private double[] dC;
-    private ArrayList<Vertice> Q;
-    private ArrayList<Vertice> S;
+    // Motor do Dijkstra, reaproveitado entre consultas no mesmo grafo
+    private CaminhosMinimos motorCaminhos;
+    private Grafo grafoCaminhos;
 
     /**
-     * Helper do Dijkstra: INICIALIZA(G, s)
+     * Motor de caminhos mínimos do grafo (criado de novo se o grafo ou o seu número de vértices mudou)
+     * Se o grafo foi carregado com pesos todos inteiros, o motor usa a fila de baldes de Dial
      */
-    private void inicializa(Grafo g, Vertice s){
-        int V = g.numeroDeVertices();
-        paiC = new Vertice[V];
-        dC = new double[V];
-        Q = new ArrayList<>();
-        S = new ArrayList<>();
-        
-        ArrayList<Vertice> vertices = g.vertices();
-        for(Vertice u : vertices){
-            paiC[u.id()] = null;
-            dC[u.id()] = Integer.MAX_VALUE;
+    private CaminhosMinimos motorDeCaminhos(Grafo g) {
+        if (motorCaminhos == null || grafoCaminhos != g || motorCaminhos.numeroDeVertices() != g.numeroDeVertices()) {
+            Integer maiorPeso = maioresPesosInteiros.get(g);
+            motorCaminhos = new CaminhosMinimos(g, maiorPeso != null ? maiorPeso : -1);
+            grafoCaminhos = g;
         }
-        dC[s.id()] = 0;
+        return motorCaminhos;
     }
 
     /**
-     * Helper do Dijkstra: RELAXA(u, v, w)
+     * Método principal do Caminho Mínimo (Dijkstra).
+     * O próximo vértice a fechar sai de um heap indexado (CaminhosMinimos), em O((V + A) log V),
+     * ou da fila de baldes, se o loader registrou que os pesos do grafo são todos inteiros
+     * Se prepararMarcos (ou carregarMarcos) foi chamado para este grafo, a busca é o A* ALT; se o grafo
+     * mudou depois disso (arestas adicionadas ou pesos alterados), os marcos são descartados
+     * @throws IllegalArgumentException Se o grafo tiver algum peso negativo
      */
-    private void relaxa(Vertice u, Vertice v, double w){
-        // se d[v] > d[u] + w(u,v)
-        if (dC[v.id()] > (dC[u.id()] + w)) {
-            // d[v] <- d[u] + w(u,v)
-            dC[v.id()] = dC[u.id()] + w;
-            // pi[v] <- u
-            paiC[v.id()] = u;
+    @Override
+    public ArrayList<Aresta> caminhoMinimo(Grafo g, Vertice origem, Vertice destino ){
+        if (marcosALT != null && grafoMarcos == g && !marcosALT.servePara(g)) {
+            usarMarcos(null, null);
+        }
+        CaminhosMinimos motor;
+        if (marcosALT != null && grafoMarcos == g) {
+            if (motorALT == null || motorALT.numeroDeVertices() != g.numeroDeVertices()) {
+                motorALT = new CaminhosMinimos(g, -1);
+            }
+            motor = motorALT;
+            motor.calcularComMarcos(origem.id(), destino.id(), marcosALT);
+        } else {
+            motor = motorDeCaminhos(g);
+            motor.calcular(origem.id(), destino.id());
+        }
+        try {
+            return motor.caminho(destino.id());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
         }
     }
 
+    // Marcos do A* ALT, do grafo em grafoMarcos, e o motor das consultas com eles
+    private MarcosALT marcosALT;
+    private Grafo grafoMarcos;
+    private CaminhosMinimos motorALT;
+
     /**
-     * Método principal do Caminho Mínimo (Dijkstra "do seu jeito").
-     * CORREÇÃO 1: Nome do método corrigido para bater com a interface.
+     * Pré-processamento do A* ALT: escolhe k marcos e calcula as distâncias de e até cada um
+     * (as 2k buscas rodam em paralelo). Depois disso, caminhoMinimo(g, ...) usa o A* com os marcos,
+     * o que compensa quando muitas consultas são feitas no mesmo grafo
+     * As tabelas ocupam 2 * k * V doubles e valem enquanto o grafo não mudar (ver MarcosALT.servePara)
+     * @param g O grafo das consultas (pesos não negativos)
+     * @param k Número de marcos (8 a 16 costuma bastar)
      */
-    @Override
-    public ArrayList<Aresta> caminhoMinimo(Grafo g, Vertice origem, Vertice destino ){
-        inicializa(g, origem);
-        
-        Q = new ArrayList<>(g.vertices());
-        
-        while (!Q.isEmpty()) {
-            
-            Vertice u = null;
-            double minDist = Double.POSITIVE_INFINITY;
-            for(Vertice v : Q){
-                if (dC[v.id()] < minDist) {
-                    minDist = dC[v.id()];
-                    u = v;
-                }
-            }
+    public void prepararMarcos(Grafo g, int k) throws Exception {
+        usarMarcos(g, MarcosALT.preparar(g, k));
+    }
 
-            if (u == null) break;
+    /**
+     * Grava as tabelas dos marcos preparados, para serem lidas por carregarMarcos
+     */
+    public void salvarMarcos(String path) throws Exception {
+        if (marcosALT == null) {
+            throw new Exception("Nenhum marco foi preparado.");
+        }
+        marcosALT.salvar(path);
+    }
 
-            Q.remove(u);
-            S.add(u);
-            
-            if (u.id() == destino.id()) {
-                break;
-            }
+    /**
+     * Lê as tabelas de marcos gravadas por salvarMarcos, sem refazer o pré-processamento
+     * @param g O grafo de que as tabelas foram calculadas
+     * @throws Exception Se o arquivo não for de marcos ou for de outro grafo
+     */
+    public void carregarMarcos(Grafo g, String path) throws Exception {
+        usarMarcos(g, MarcosALT.carregar(path, g));
+    }
 
-            try {
-                for (Vertice v : g.adjacentesDe(u)) {
-                    ArrayList<Aresta> arestasParalelas = g.arestasEntre(u, v);
-                    if (arestasParalelas.isEmpty()) continue; 
+    private void usarMarcos(Grafo g, MarcosALT marcos) {
+        this.marcosALT = marcos;
+        this.grafoMarcos = g;
+        this.motorALT = null;
+    }
 
-                    double w = Double.POSITIVE_INFINITY;
-                    for (Aresta a : arestasParalelas) {
-                        if (a.peso() < w) w = a.peso();
-                    }
-                    
-                    relaxa(u, v, w);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    // Hierarquia de contração do grafo em grafoHierarquia
+    private HierarquiaDeContracao hierarquia;
+    private Grafo grafoHierarquia;
+
+    /**
+     * Pré-processamento das Hierarquias de Contração: ordena os vértices e cria os atalhos
+     * (ver ContracaoDeVertices). Depois disso, caminhoMinimoPorHierarquia(g, ...) responde cada
+     * consulta fechando poucos vértices, mesmo em grafos enormes
+     * @param g O grafo das consultas (pesos não negativos)
+     * @throws IllegalArgumentException Se o grafo tiver algum peso negativo
+     */
+    public void prepararHierarquia(Grafo g) {
+        this.hierarquia = HierarquiaDeContracao.construir(g);
+        this.grafoHierarquia = g;
+    }
+
+    /**
+     * Grava a hierarquia preparada, para ser aberta por carregarHierarquia sem refazer o pré-processamento
+     */
+    public void salvarHierarquia(String path) throws Exception {
+        if (hierarquia == null) {
+            throw new Exception("Nenhuma hierarquia foi preparada.");
         }
+        hierarquia.gravar(path);
+    }
 
-        ArrayList<Aresta> arestasCaminhoMinimo = new ArrayList<>();
-        Vertice atual = destino;
-        
+    /**
+     * Abre uma hierarquia gravada por salvarHierarquia, mapeando o arquivo em memória
+     * @param g O grafo de que a hierarquia foi construída
+     * @throws Exception Se o arquivo não for de hierarquia ou for de outro grafo
+     */
+    public void carregarHierarquia(Grafo g, String path) throws Exception {
+        this.hierarquia = HierarquiaDeContracao.carregar(path, g);
+        this.grafoHierarquia = g;
+    }
+
+    /**
+     * Caminho mínimo pela Hierarquia de Contração (ver HierarquiaDeContracao), com o mesmo custo de
+     * caminhoMinimo e os atalhos já desempacotados nas arestas do grafo
+     * Se a hierarquia deste grafo ainda não foi preparada nem carregada, ou se o grafo mudou depois disso
+     * (arestas adicionadas ou pesos alterados), ela é preparada de novo nesta consulta
+     * @throws IllegalArgumentException Se o grafo tiver algum peso negativo
+     */
+    public ArrayList<Aresta> caminhoMinimoPorHierarquia(Grafo g, Vertice origem, Vertice destino) {
+        if (hierarquia == null || grafoHierarquia != g || !hierarquia.servePara(g)) {
+            prepararHierarquia(g);
+        }
         try {
-            while (paiC[atual.id()] != null) { 
-                Vertice p = paiC[atual.id()];
-                
-                double pesoUsado = dC[atual.id()] - dC[p.id()];
-                Aresta arestaDoCaminho = null;
-                for(Aresta a : g.arestasEntre(p, atual)) {
-                    if (Math.abs(a.peso() - pesoUsado) < 0.0001) {
-                        arestaDoCaminho = a;
-                        break;
-                    }
-                }
-                if (arestaDoCaminho == null && !g.arestasEntre(p, atual).isEmpty()) {
-                    arestaDoCaminho = g.arestasEntre(p, atual).get(0);
-                }
-                
-                arestasCaminhoMinimo.add(arestaDoCaminho);
-                atual = p;
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+            return hierarquia.caminho(origem.id(), destino.id());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
 
-        Collections.reverse(arestasCaminhoMinimo);
-        
-        if (arestasCaminhoMinimo.isEmpty() && !origem.equals(destino)) return new ArrayList<>();
-        if (!arestasCaminhoMinimo.isEmpty() && !arestasCaminhoMinimo.get(0).origem().equals(origem)) return new ArrayList<>();
+    // Motor do Dijkstra bidirecional, reaproveitado entre consultas no mesmo grafo
+    private CaminhoBidirecional motorBidirecional;
+    private Grafo grafoBidirecional;
 
-        return arestasCaminhoMinimo;
+    /**
+     * Caminho mínimo de um ponto a outro pelo Dijkstra bidirecional: uma busca sai da origem e outra
+     * do destino (pelos antecessores), até as duas se encontrarem (ver CaminhoBidirecional)
+     * Retorna um caminho de mesmo custo que caminhoMinimo, fechando bem menos vértices em grafos grandes
+     * @throws IllegalArgumentException Se o grafo tiver algum peso negativo
+     */
+    public ArrayList<Aresta> caminhoMinimoBidirecional(Grafo g, Vertice origem, Vertice destino) {
+        if (motorBidirecional == null || grafoBidirecional != g || motorBidirecional.numeroDeVertices() != g.numeroDeVertices()) {
+            motorBidirecional = new CaminhoBidirecional(g);
+            grafoBidirecional = g;
+        }
+        try {
+            return motorBidirecional.caminho(origem.id(), destino.id());
+        } catch (IllegalArgumentException e) {
+            // Peso negativo: o erro é do grafo, não da montagem do caminho, e não pode virar lista vazia
+            throw e;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
     }
     
 
@@ -610,16 +1028,13 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
         double maxFluxo = 0;
         
         double[][] residual = new double[V][V];
-        try {
-            for (Vertice u : g.vertices()) {
-                for (Vertice v : g.adjacentesDe(u)) {
-                    ArrayList<Aresta> arestasParalelas = g.arestasEntre(u, v);
-                    for (Aresta a : arestasParalelas) {
-                        residual[u.id()][v.id()] += a.peso();
-                    }
-                }
-            }
-        } catch (Exception e) { e.printStackTrace(); }
+        for (Vertice u : g.vertices()) {
+            double[] linha = residual[u.id()];
+            g.percorrerAdjacentes(u.id(), (v, peso) -> {
+                linha[v] += peso;
+                return true;
+            });
+        }
         
         while (true) {
             Vertice[] paisFluxo = bfsFluxo(g, origem, destino, residual);
@@ -651,33 +1066,35 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
     
     /**
      * HELPER: BFS para o Fluxo Máximo
+     * No grafo residual, os vizinhos de 'u' são seus adjacentes (arestas diretas) e
+     * seus antecessores (arestas reversas), então só esses vértices são examinados
      */
     private Vertice[] bfsFluxo(Grafo g, Vertice s, Vertice t, double[][] residual) {
         int V = g.numeroDeVertices();
+        ArrayList<Vertice> vertices = g.vertices();
         Vertice[] paisFluxo = new Vertice[V];
         boolean[] visitado = new boolean[V];
-        for (int i=0; i<V; i++) {
-            visitado[i] = false;
-            paisFluxo[i] = null;
-        }
 
-        ArrayList<Vertice> Q = new ArrayList<>();
-        Q.add(s);
+        FilaDeInteiros Q = new FilaDeInteiros(V);
+        Q.adicionar(s.id());
         visitado[s.id()] = true;
         
-        while (!Q.isEmpty()) {
-            Vertice u = Q.remove(0);
+        while (!Q.vazia() && !visitado[t.id()]) {
+            Vertice u = vertices.get(Q.remover());
+            double[] linha = residual[u.id()];
             
-            for (Vertice v : g.vertices()) { 
-                if (!visitado[v.id()] && residual[u.id()][v.id()] > 0) {
-                    visitado[v.id()] = true;
-                    paisFluxo[v.id()] = u;
-                    Q.add(v);
-                    
-                    if (v.id() == t.id()) {
-                        return paisFluxo;
-                    }
+            VisitanteDeArestas visitaResidual = (v, peso) -> {
+                if (!visitado[v] && linha[v] > 0) {
+                    visitado[v] = true;
+                    paisFluxo[v] = u;
+                    Q.adicionar(v);
                 }
+                // Interrompe assim que chega no destino
+                return !visitado[t.id()];
+            };
+            g.percorrerAdjacentes(u.id(), visitaResidual);
+            if (!visitado[t.id()]) {
+                g.percorrerAntecessores(u.id(), visitaResidual);
             }
         }
         return paisFluxo;
@@ -714,4 +1131,9 @@ public class MeusAlgoritmosEmGrafos implements AlgoritmosEmGrafos {
     public int[] getSccMap() {
         return this.sccMap;
     }
+
+    /** Retorna o ID original (do arquivo) de cada vértice do último carregarGrafoComIdsEsparsos */
+    public long[] getIdsOriginais() {
+        return this.idsOriginais;
+    }
 }
\ No newline at end of file
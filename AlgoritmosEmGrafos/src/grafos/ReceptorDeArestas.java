@@ -0,0 +1,16 @@
+package grafos;
+
+/**
+ * Recebe as arestas lidas de um arquivo, na ordem em que aparecem
+ * Os vértices são passados pelos IDs, sem criar objetos
+ */
+public interface ReceptorDeArestas {
+
+    /**
+     * Chamado para cada aresta lida
+     * @param origem ID do vértice de origem
+     * @param destino ID do vértice de destino
+     * @param peso Peso da aresta
+     */
+    public void receber(int origem, int destino, double peso) throws Exception;
+}
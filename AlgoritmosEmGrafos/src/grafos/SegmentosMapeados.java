@@ -0,0 +1,84 @@
+package grafos;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Um arquivo inteiro mapeado em memória (FileChannel.map), endereçado por posição long
+ * Um único MappedByteBuffer só alcança 2 GB, então o arquivo é mapeado em segmentos de 1 GB
+ * Os valores gravados sempre ficam alinhados ao próprio tamanho (int em múltiplo de 4, double e long
+ * em múltiplo de 8), então nenhum valor atravessa a fronteira entre dois segmentos
+ * Os dados ficam fora do heap da JVM: o cache de páginas do sistema operacional guarda o que está em uso
+ */
+class SegmentosMapeados {
+
+    private static final int BITS_SEGMENTO = 30;
+    private static final long MASCARA_SEGMENTO = (1L << BITS_SEGMENTO) - 1;
+
+    private MappedByteBuffer[] segmentos;
+    private long tamanho;
+
+    /**
+     * Mapeia as primeiras 'tamanho' posições do canal
+     * @param canal Canal do arquivo (pode ser fechado depois, o mapeamento continua válido)
+     * @param modo READ_ONLY ou READ_WRITE
+     * @param tamanho Número de bytes a mapear
+     */
+    SegmentosMapeados(FileChannel canal, FileChannel.MapMode modo, long tamanho) throws IOException {
+        this.tamanho = tamanho;
+        int numSegmentos = (int) ((tamanho + MASCARA_SEGMENTO) >>> BITS_SEGMENTO);
+        this.segmentos = new MappedByteBuffer[numSegmentos];
+        for (int i = 0; i < numSegmentos; i++) {
+            long inicio = (long) i << BITS_SEGMENTO;
+            long quantidade = Math.min(1L << BITS_SEGMENTO, tamanho - inicio);
+            segmentos[i] = canal.map(modo, inicio, quantidade);
+            segmentos[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    long tamanho() {
+        return tamanho;
+    }
+
+    int lerInt(long posicao) {
+        return segmentos[(int) (posicao >>> BITS_SEGMENTO)].getInt((int) (posicao & MASCARA_SEGMENTO));
+    }
+
+    long lerLong(long posicao) {
+        return segmentos[(int) (posicao >>> BITS_SEGMENTO)].getLong((int) (posicao & MASCARA_SEGMENTO));
+    }
+
+    double lerDouble(long posicao) {
+        return segmentos[(int) (posicao >>> BITS_SEGMENTO)].getDouble((int) (posicao & MASCARA_SEGMENTO));
+    }
+
+    void gravarInt(long posicao, int valor) {
+        segmentos[(int) (posicao >>> BITS_SEGMENTO)].putInt((int) (posicao & MASCARA_SEGMENTO), valor);
+    }
+
+    void gravarLong(long posicao, long valor) {
+        segmentos[(int) (posicao >>> BITS_SEGMENTO)].putLong((int) (posicao & MASCARA_SEGMENTO), valor);
+    }
+
+    void gravarDouble(long posicao, double valor) {
+        segmentos[(int) (posicao >>> BITS_SEGMENTO)].putDouble((int) (posicao & MASCARA_SEGMENTO), valor);
+    }
+
+    /**
+     * Força a gravação em disco das páginas alteradas
+     */
+    void descarregar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+    }
+
+    /**
+     * Arredonda a posição para o próximo múltiplo de 8
+     */
+    static long alinhar(long posicao) {
+        return (posicao + 7) & ~7L;
+    }
+}
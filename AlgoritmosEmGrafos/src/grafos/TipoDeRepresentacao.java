@@ -12,5 +12,8 @@ package grafos;
 public enum TipoDeRepresentacao {
     MATRIZ_DE_ADJACENCIA, 
     MATRIZ_DE_INCIDENCIA, 
-    LISTA_DE_ADJACENCIA;
+    LISTA_DE_ADJACENCIA,
+    COMPRESSED_SPARSE_ROW,
+    MATRIZ_DE_BITS,
+    LISTA_COMPRIMIDA;
 }
@@ -0,0 +1,16 @@
+package grafos;
+
+/**
+ * Recebe, uma a uma, as arestas percorridas por Grafo.percorrerAdjacentes e
+ * Grafo.percorrerAntecessores, sem que nenhum objeto Vertice ou Aresta seja criado.
+ */
+public interface VisitanteDeArestas {
+
+    /**
+     * Chamado uma vez para cada aresta percorrida (arestas paralelas são visitadas uma vez cada).
+     * @param vertice ID do vértice na outra ponta da aresta.
+     * @param peso Peso da aresta.
+     * @return True para continuar percorrendo, False para interromper o percurso.
+     */
+    public boolean visitar(int vertice, double peso);
+}